@@ -135,6 +135,23 @@ public class App {
                           String.format("%.2f", bestRel.getTotalCost()));
             }
         }
+        
+        // all strategies at once, fronts merged
+        log.info("\nTesting ensemble of all strategies");
+        OptimizationParameters ensembleParams = new OptimizationParameters.Builder()
+                .brkgaPopulationSize(50)
+                .brkgaMaxGenerations(100)
+                .archiveSize(50)
+                .ensembleStrategies(strats)
+                .randomSeed(42)
+                .build();
+        
+        VMAllocationOptimizer opt = new VMAllocationOptimizer(inst, ensembleParams);
+        VMAllocationOptimizer.OptimizationResult result = opt.optimize();
+        
+        log.info("  Archive size: {}", result.getArchive().size());
+        log.info("  Exec time: {} ms", result.getReport().getTotalExecutionTime());
+        log.info("  Contributions: {}", result.getReport().getEnsembleContributions());
     }
     
     // show optimization results
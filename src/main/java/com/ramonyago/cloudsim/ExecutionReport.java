@@ -1,11 +1,13 @@
 package com.ramonyago.cloudsim;
 
+import com.ramonyago.cloudsim.algorithm.brkga.BRKGADecoder;
 import com.ramonyago.cloudsim.model.ProblemInstance;
 import com.ramonyago.cloudsim.util.ParetoArchive;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Relatório detalhado da execução do algoritmo de otimização.
@@ -21,6 +23,8 @@ public class ExecutionReport {
     private final long brkgaExecutionTime;
     private final int brkgaGenerations;
     private final List<Integer> brkgaArchiveSizeHistory;
+    private final List<Double> brkgaHypervolumeHistory;
+    private final Map<BRKGADecoder.DecodingStrategy, Integer> ensembleContributions; // null fora do modo ensemble
     
     // Estatísticas da Busca Tabu
     private final long tabuExecutionTime;
@@ -36,6 +40,8 @@ public class ExecutionReport {
         this.brkgaExecutionTime = builder.brkgaExecutionTime;
         this.brkgaGenerations = builder.brkgaGenerations;
         this.brkgaArchiveSizeHistory = builder.brkgaArchiveSizeHistory;
+        this.brkgaHypervolumeHistory = builder.brkgaHypervolumeHistory;
+        this.ensembleContributions = builder.ensembleContributions;
         
         this.tabuExecutionTime = builder.tabuExecutionTime;
         this.tabuIterations = builder.tabuIterations;
@@ -51,6 +57,18 @@ public class ExecutionReport {
     public long getBrkgaExecutionTime() { return brkgaExecutionTime; }
     public int getBrkgaGenerations() { return brkgaGenerations; }
     public List<Integer> getBrkgaArchiveSizeHistory() { return brkgaArchiveSizeHistory; }
+    public List<Double> getBrkgaHypervolumeHistory() { return brkgaHypervolumeHistory; }
+    public Map<BRKGADecoder.DecodingStrategy, Integer> getEnsembleContributions() { return ensembleContributions; }
+    
+    /**
+     * Hipervolume ao final do BRKGA, ou 0 se não registrado
+     */
+    public double getBrkgaFinalHypervolume() {
+        if (brkgaHypervolumeHistory == null || brkgaHypervolumeHistory.isEmpty()) {
+            return 0.0;
+        }
+        return brkgaHypervolumeHistory.get(brkgaHypervolumeHistory.size() - 1);
+    }
     
     public long getTabuExecutionTime() { return tabuExecutionTime; }
     public int getTabuIterations() { return tabuIterations; }
@@ -91,6 +109,12 @@ public class ExecutionReport {
             sb.append("Archive Size Evolution: ").append(brkgaArchiveSizeHistory.size()).append(" checkpoints\n");
             sb.append("Final Archive Size: ").append(brkgaArchiveSizeHistory.get(brkgaArchiveSizeHistory.size() - 1)).append("\n");
         }
+        if (brkgaHypervolumeHistory != null && !brkgaHypervolumeHistory.isEmpty()) {
+            sb.append("Final Hypervolume: ").append(String.format("%.4f", getBrkgaFinalHypervolume())).append("\n");
+        }
+        if (ensembleContributions != null) {
+            sb.append("Ensemble Front Contributions: ").append(ensembleContributions).append("\n");
+        }
         sb.append("\n");
         
         // Resultados finais
@@ -143,6 +167,7 @@ public class ExecutionReport {
         // BRKGA
         sb.append("brkga_execution_time_ms,").append(brkgaExecutionTime).append("\n");
         sb.append("brkga_generations,").append(brkgaGenerations).append("\n");
+        sb.append("brkga_hypervolume,").append(getBrkgaFinalHypervolume()).append("\n");
         
         // Estatísticas do arquivo final
         if (archiveStatistics != null) {
@@ -198,6 +223,8 @@ public class ExecutionReport {
         private long brkgaExecutionTime = 0;
         private int brkgaGenerations = 0;
         private List<Integer> brkgaArchiveSizeHistory;
+        private List<Double> brkgaHypervolumeHistory;
+        private Map<BRKGADecoder.DecodingStrategy, Integer> ensembleContributions;
         
         private long tabuExecutionTime = 0;
         private int tabuIterations = 0;
@@ -237,6 +264,19 @@ public class ExecutionReport {
             return this;
         }
         
+        public Builder brkgaHypervolumeHistory(List<Double> brkgaHypervolumeHistory) {
+            this.brkgaHypervolumeHistory = brkgaHypervolumeHistory;
+            return this;
+        }
+        
+        /**
+         * Número de pontos da frente do BRKGA contribuídos por cada estratégia do ensemble
+         */
+        public Builder ensembleContributions(Map<BRKGADecoder.DecodingStrategy, Integer> ensembleContributions) {
+            this.ensembleContributions = ensembleContributions;
+            return this;
+        }
+        
         public Builder tabuExecutionTime(long tabuExecutionTime) {
             this.tabuExecutionTime = tabuExecutionTime;
             return this;
@@ -2,6 +2,11 @@ package com.ramonyago.cloudsim;
 
 import com.ramonyago.cloudsim.algorithm.brkga.BRKGADecoder;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Parâmetros configuráveis para todo o sistema de otimização híbrida.
  */
@@ -17,12 +22,30 @@ public class OptimizationParameters {
     private final double brkgaMutantRatio;
     private final double brkgaInheritanceProbability;
     private final BRKGADecoder.DecodingStrategy decodingStrategy;
+    private final int brkgaParallelism;
+    private final BRKGADecoder.Encoding brkgaEncoding;
+    private final List<BRKGADecoder.DecodingStrategy> ensembleStrategies; // vazio = apenas decodingStrategy
     
     // Parâmetros da Busca Tabu
     private final int tabuListSize;
     private final int tabuMaxIterations;
     private final boolean tabuUseIntensification;
     private final boolean tabuUseDiversification;
+    private final int tabuParallelism;
+    private final int tabuEvacuationCandidates;
+    private final int tabuSampleSize;
+    private final int tabuCandidateHosts;
+    private final boolean tabuDontLookBits;
+    private final boolean tabuSwapMoves;
+    private final int tabuEjectionChainLength;
+    private final int tabuEjectionCandidates;
+    
+    // Parada antecipada: orçamento global repartido entre as fases e estagnação
+    private final Duration timeLimit;             // null = sem limite de tempo
+    private final long maxEvaluations;            // Long.MAX_VALUE = sem limite
+    private final double brkgaBudgetShare;        // fração do orçamento restante dada ao BRKGA
+    private final int hypervolumeStagnationWindow; // 0 = desativado
+    private final int archiveStagnationIterations; // 0 = desativado
     
     private OptimizationParameters(Builder builder) {
         this.randomSeed = builder.randomSeed;
@@ -34,11 +57,28 @@ public class OptimizationParameters {
         this.brkgaMutantRatio = builder.brkgaMutantRatio;
         this.brkgaInheritanceProbability = builder.brkgaInheritanceProbability;
         this.decodingStrategy = builder.decodingStrategy;
+        this.brkgaParallelism = builder.brkgaParallelism;
+        this.brkgaEncoding = builder.brkgaEncoding;
+        this.ensembleStrategies = Collections.unmodifiableList(builder.ensembleStrategies);
         
         this.tabuListSize = builder.tabuListSize;
         this.tabuMaxIterations = builder.tabuMaxIterations;
         this.tabuUseIntensification = builder.tabuUseIntensification;
         this.tabuUseDiversification = builder.tabuUseDiversification;
+        this.tabuParallelism = builder.tabuParallelism;
+        this.tabuEvacuationCandidates = builder.tabuEvacuationCandidates;
+        this.tabuSampleSize = builder.tabuSampleSize;
+        this.tabuCandidateHosts = builder.tabuCandidateHosts;
+        this.tabuDontLookBits = builder.tabuDontLookBits;
+        this.tabuSwapMoves = builder.tabuSwapMoves;
+        this.tabuEjectionChainLength = builder.tabuEjectionChainLength;
+        this.tabuEjectionCandidates = builder.tabuEjectionCandidates;
+        
+        this.timeLimit = builder.timeLimit;
+        this.maxEvaluations = builder.maxEvaluations;
+        this.brkgaBudgetShare = builder.brkgaBudgetShare;
+        this.hypervolumeStagnationWindow = builder.hypervolumeStagnationWindow;
+        this.archiveStagnationIterations = builder.archiveStagnationIterations;
     }
     
     // Getters
@@ -51,11 +91,29 @@ public class OptimizationParameters {
     public double getBrkgaMutantRatio() { return brkgaMutantRatio; }
     public double getBrkgaInheritanceProbability() { return brkgaInheritanceProbability; }
     public BRKGADecoder.DecodingStrategy getDecodingStrategy() { return decodingStrategy; }
+    public int getBrkgaParallelism() { return brkgaParallelism; }
+    public BRKGADecoder.Encoding getBrkgaEncoding() { return brkgaEncoding; }
+    public List<BRKGADecoder.DecodingStrategy> getEnsembleStrategies() { return ensembleStrategies; }
+    public boolean isEnsemble() { return !ensembleStrategies.isEmpty(); }
     
     public int getTabuListSize() { return tabuListSize; }
     public int getTabuMaxIterations() { return tabuMaxIterations; }
     public boolean isTabuUseIntensification() { return tabuUseIntensification; }
     public boolean isTabuUseDiversification() { return tabuUseDiversification; }
+    public int getTabuParallelism() { return tabuParallelism; }
+    public int getTabuEvacuationCandidates() { return tabuEvacuationCandidates; }
+    public int getTabuSampleSize() { return tabuSampleSize; }
+    public int getTabuCandidateHosts() { return tabuCandidateHosts; }
+    public boolean isTabuDontLookBits() { return tabuDontLookBits; }
+    public boolean isTabuSwapMoves() { return tabuSwapMoves; }
+    public int getTabuEjectionChainLength() { return tabuEjectionChainLength; }
+    public int getTabuEjectionCandidates() { return tabuEjectionCandidates; }
+    
+    public Duration getTimeLimit() { return timeLimit; }
+    public long getMaxEvaluations() { return maxEvaluations; }
+    public double getBrkgaBudgetShare() { return brkgaBudgetShare; }
+    public int getHypervolumeStagnationWindow() { return hypervolumeStagnationWindow; }
+    public int getArchiveStagnationIterations() { return archiveStagnationIterations; }
     
     /**
      * Cria parâmetros padrão para testes rápidos
@@ -113,11 +171,28 @@ public class OptimizationParameters {
         private double brkgaMutantRatio = 0.10;
         private double brkgaInheritanceProbability = 0.7;
         private BRKGADecoder.DecodingStrategy decodingStrategy = BRKGADecoder.DecodingStrategy.BALANCED;
+        private int brkgaParallelism = 1;
+        private BRKGADecoder.Encoding brkgaEncoding = BRKGADecoder.Encoding.FULL;
+        private List<BRKGADecoder.DecodingStrategy> ensembleStrategies = Collections.emptyList();
         
         private int tabuListSize = 50;
         private int tabuMaxIterations = 500;
         private boolean tabuUseIntensification = true;
         private boolean tabuUseDiversification = true;
+        private int tabuParallelism = 1;
+        private int tabuEvacuationCandidates = 0;
+        private int tabuSampleSize = 0;
+        private int tabuCandidateHosts = 0;
+        private boolean tabuDontLookBits = false;
+        private boolean tabuSwapMoves = false;
+        private int tabuEjectionChainLength = 0;
+        private int tabuEjectionCandidates = 4;
+        
+        private Duration timeLimit = null;
+        private long maxEvaluations = Long.MAX_VALUE;
+        private double brkgaBudgetShare = 0.5;
+        private int hypervolumeStagnationWindow = 0;
+        private int archiveStagnationIterations = 0;
         
         public Builder randomSeed(long randomSeed) {
             this.randomSeed = randomSeed;
@@ -159,6 +234,27 @@ public class OptimizationParameters {
             return this;
         }
         
+        public Builder brkgaParallelism(int brkgaParallelism) {
+            this.brkgaParallelism = brkgaParallelism;
+            return this;
+        }
+        
+        public Builder brkgaEncoding(BRKGADecoder.Encoding brkgaEncoding) {
+            this.brkgaEncoding = brkgaEncoding;
+            return this;
+        }
+        
+        /**
+         * Executa o BRKGA com cada estratégia simultaneamente, em threads separadas, e
+         * combina as frentes; sem argumentos, usa todas as estratégias
+         */
+        public Builder ensembleStrategies(BRKGADecoder.DecodingStrategy... strategies) {
+            this.ensembleStrategies = strategies.length == 0
+                    ? Arrays.asList(BRKGADecoder.DecodingStrategy.values())
+                    : Arrays.asList(strategies);
+            return this;
+        }
+        
         public Builder tabuListSize(int tabuListSize) {
             this.tabuListSize = tabuListSize;
             return this;
@@ -179,6 +275,111 @@ public class OptimizationParameters {
             return this;
         }
         
+        /**
+         * Threads da busca tabu; com mais de uma, as soluções iniciais são buscadas em paralelo
+         */
+        public Builder tabuParallelism(int tabuParallelism) {
+            this.tabuParallelism = tabuParallelism;
+            return this;
+        }
+        
+        /**
+         * Hosts ativos menos carregados cuja evacuação a busca tabu tenta a cada iteração (0 = nenhum)
+         */
+        public Builder tabuEvacuationCandidates(int tabuEvacuationCandidates) {
+            this.tabuEvacuationCandidates = tabuEvacuationCandidates;
+            return this;
+        }
+        
+        /**
+         * Número de VMs sorteadas cujos movimentos formam cada vizinhança da busca tabu (0 = todas)
+         */
+        public Builder tabuSampleSize(int tabuSampleSize) {
+            this.tabuSampleSize = tabuSampleSize;
+            return this;
+        }
+        
+        /**
+         * Número de hosts de destino de melhor pontuação considerados por VM na busca tabu (0 = todos os elegíveis)
+         */
+        public Builder tabuCandidateHosts(int tabuCandidateHosts) {
+            this.tabuCandidateHosts = tabuCandidateHosts;
+            return this;
+        }
+        
+        /**
+         * Ignora VMs sem movimento de melhora até que um movimento afete seu host ou libere espaço para elas
+         */
+        public Builder tabuDontLookBits(boolean tabuDontLookBits) {
+            this.tabuDontLookBits = tabuDontLookBits;
+            return this;
+        }
+        
+        /**
+         * Adiciona à busca tabu movimentos que trocam duas VMs entre seus hosts
+         */
+        public Builder tabuSwapMoves(boolean tabuSwapMoves) {
+            this.tabuSwapMoves = tabuSwapMoves;
+            return this;
+        }
+        
+        /**
+         * Número máximo de realocações de uma cadeia de ejeção na busca tabu (0 ou 1 = sem cadeias)
+         */
+        public Builder tabuEjectionChainLength(int tabuEjectionChainLength) {
+            this.tabuEjectionChainLength = tabuEjectionChainLength;
+            return this;
+        }
+        
+        /**
+         * Número máximo de VMs de cada host cheio tentadas para ejeção por trocas e cadeias
+         */
+        public Builder tabuEjectionCandidates(int tabuEjectionCandidates) {
+            this.tabuEjectionCandidates = tabuEjectionCandidates;
+            return this;
+        }
+        
+        /**
+         * Tempo máximo de parede de toda a otimização (BRKGA + busca tabu)
+         */
+        public Builder timeLimit(Duration timeLimit) {
+            this.timeLimit = timeLimit;
+            return this;
+        }
+        
+        /**
+         * Número máximo de avaliações (decodificações e movimentos avaliados) de toda a otimização
+         */
+        public Builder maxEvaluations(long maxEvaluations) {
+            this.maxEvaluations = maxEvaluations;
+            return this;
+        }
+        
+        /**
+         * Fração do orçamento reservada ao BRKGA; a busca tabu recebe todo o restante,
+         * inclusive o que o BRKGA não usar
+         */
+        public Builder brkgaBudgetShare(double brkgaBudgetShare) {
+            this.brkgaBudgetShare = brkgaBudgetShare;
+            return this;
+        }
+        
+        /**
+         * Encerra o BRKGA se o hipervolume não melhorar nesta quantidade de gerações
+         */
+        public Builder hypervolumeStagnationWindow(int hypervolumeStagnationWindow) {
+            this.hypervolumeStagnationWindow = hypervolumeStagnationWindow;
+            return this;
+        }
+        
+        /**
+         * Encerra cada fase se o arquivo não mudar nesta quantidade de gerações/iterações
+         */
+        public Builder archiveStagnationIterations(int archiveStagnationIterations) {
+            this.archiveStagnationIterations = archiveStagnationIterations;
+            return this;
+        }
+        
         public OptimizationParameters build() {
             // Validate parameters
             if (brkgaPopulationSize <= 0) {
@@ -199,15 +400,55 @@ public class OptimizationParameters {
             if (brkgaInheritanceProbability < 0 || brkgaInheritanceProbability > 1) {
                 throw new IllegalArgumentException("BRKGA inheritance probability must be between 0 and 1");
             }
+            if (brkgaParallelism <= 0) {
+                throw new IllegalArgumentException("BRKGA parallelism must be positive");
+            }
+            if (brkgaEncoding == null) {
+                throw new IllegalArgumentException("BRKGA encoding must not be null");
+            }
+            if (ensembleStrategies.size() != ensembleStrategies.stream().distinct().count()
+                    || ensembleStrategies.contains(null)) {
+                throw new IllegalArgumentException("Ensemble strategies must be distinct and not null");
+            }
             if (tabuListSize <= 0) {
                 throw new IllegalArgumentException("Tabu list size must be positive");
             }
             if (tabuMaxIterations <= 0) {
                 throw new IllegalArgumentException("Tabu max iterations must be positive");
             }
+            if (tabuParallelism <= 0) {
+                throw new IllegalArgumentException("Tabu parallelism must be positive");
+            }
+            if (tabuEvacuationCandidates < 0) {
+                throw new IllegalArgumentException("Tabu evacuation candidate count must not be negative");
+            }
+            if (tabuSampleSize < 0) {
+                throw new IllegalArgumentException("Tabu sample size must not be negative");
+            }
+            if (tabuCandidateHosts < 0) {
+                throw new IllegalArgumentException("Tabu candidate host count must not be negative");
+            }
+            if (tabuEjectionChainLength < 0) {
+                throw new IllegalArgumentException("Tabu ejection chain length must not be negative");
+            }
+            if (tabuEjectionCandidates <= 0) {
+                throw new IllegalArgumentException("Tabu ejection candidate count must be positive");
+            }
             if (archiveSize <= 0) {
                 throw new IllegalArgumentException("Archive size must be positive");
             }
+            if (timeLimit != null && timeLimit.isNegative()) {
+                throw new IllegalArgumentException("Time limit must not be negative");
+            }
+            if (maxEvaluations < 0) {
+                throw new IllegalArgumentException("Max evaluations must not be negative");
+            }
+            if (brkgaBudgetShare <= 0 || brkgaBudgetShare > 1) {
+                throw new IllegalArgumentException("BRKGA budget share must be in (0, 1]");
+            }
+            if (hypervolumeStagnationWindow < 0 || archiveStagnationIterations < 0) {
+                throw new IllegalArgumentException("Stagnation lengths must not be negative");
+            }
             
             return new OptimizationParameters(this);
         }
@@ -2,6 +2,8 @@ package com.ramonyago.cloudsim;
 
 import com.ramonyago.cloudsim.algorithm.brkga.*;
 import com.ramonyago.cloudsim.algorithm.TabuSearch;
+import com.ramonyago.cloudsim.algorithm.termination.Budget;
+import com.ramonyago.cloudsim.algorithm.termination.TerminationCriterion;
 import com.ramonyago.cloudsim.io.InstanceReader;
 import com.ramonyago.cloudsim.model.AllocationSolution;
 import com.ramonyago.cloudsim.model.ProblemInstance;
@@ -10,7 +12,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Classe principal que orquestra o fluxo híbrido para otimização 
@@ -24,8 +32,14 @@ public class VMAllocationOptimizer {
     
     // Componentes dos algoritmos
     private MOBRKGA brkga;
+    private Map<BRKGADecoder.DecodingStrategy, MOBRKGA> ensembleRuns; // null fora do modo ensemble
+    private long ensembleExecutionTime;
+    private final Map<Long, BRKGADecoder.DecodingStrategy> strategyAttribution = new HashMap<>();
     private TabuSearch tabuSearch;
     private ParetoArchive finalArchive;
+    private final List<AllocationSolution> warmStartSolutions = new ArrayList<>();
+    private Path checkpointDirectory;
+    private int checkpointInterval;
     
     // Estatísticas de execução
     private long totalExecutionTime;
@@ -40,6 +54,33 @@ public class VMAllocationOptimizer {
         logger.info("Instance statistics: {}", instance.getStatistics());
     }
     
+    /**
+     * Usa soluções de uma execução anterior (p.ex. o arquivo final) para semear a
+     * população inicial do BRKGA. VMs e hosts são associados pelos ids.
+     */
+    public VMAllocationOptimizer warmStart(Collection<AllocationSolution> previousSolutions) {
+        warmStartSolutions.addAll(previousSolutions);
+        return this;
+    }
+    
+    /**
+     * Grava checkpoints das duas fases em directory (brkga.ckpt e tabu.ckpt) a cada
+     * interval gerações/iterações. Se os arquivos já existirem, optimize() retoma deles:
+     * chamar de novo com os mesmos parâmetros continua uma execução interrompida.
+     * A busca tabu paralela (tabuParallelism > 1) não grava checkpoints e é recusada.
+     */
+    public VMAllocationOptimizer checkpointTo(Path directory, int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        if (parameters.getTabuParallelism() > 1) {
+            throw new IllegalArgumentException("Checkpointing is not supported by parallel tabu search");
+        }
+        this.checkpointDirectory = directory;
+        this.checkpointInterval = interval;
+        return this;
+    }
+    
     /**
      * Executa o fluxo completo de otimização híbrida
      */
@@ -48,13 +89,16 @@ public class VMAllocationOptimizer {
         long startTime = System.currentTimeMillis();
         
         try {
+            // Orçamento global; o que o BRKGA não usar fica para a busca tabu
+            Budget budget = new Budget(parameters.getTimeLimit(), parameters.getMaxEvaluations());
+            
             // Fase 1: BRKGA Multi-objetivo
             logger.info("=== Phase 1: Multi-objective BRKGA ===");
-            ParetoArchive brkgaArchive = runBRKGA();
+            ParetoArchive brkgaArchive = parameters.isEnsemble() ? runEnsemble(budget) : runBRKGA(budget);
             
             // Fase 2: Busca Tabu
             logger.info("=== Phase 2: Multi-objective Tabu Search ===");
-            ParetoArchive tabuArchive = runTabuSearch(brkgaArchive);
+            ParetoArchive tabuArchive = runTabuSearch(brkgaArchive, budget);
             
             // Combinação final
             finalArchive = combineParetoFronts(brkgaArchive, tabuArchive);
@@ -67,7 +111,7 @@ public class VMAllocationOptimizer {
             logger.info("Hybrid optimization completed in {} ms", totalExecutionTime);
             logger.info("Final archive statistics: {}", finalArchive.getStatistics());
             
-            return new OptimizationResult(finalArchive, report);
+            return new OptimizationResult(finalArchive, report, strategyAttribution);
             
         } catch (Exception e) {
             logger.error("Error during optimization", e);
@@ -78,7 +122,92 @@ public class VMAllocationOptimizer {
     /**
      * Executa o algoritmo BRKGA multi-objetivo
      */
-    private ParetoArchive runBRKGA() {
+    private ParetoArchive runBRKGA(Budget budget) throws IOException {
+        TerminationCriterion termination = brkgaTermination(budget.allocate(parameters.getBrkgaBudgetShare()));
+        brkga = createBRKGA(parameters.getDecodingStrategy(), termination, "brkga.ckpt");
+        ParetoArchive archive = brkga.run();
+        budget.consume(brkga.getEvaluations());
+        
+        logger.info("BRKGA completed. Archive size: {}", archive.size());
+        return archive;
+    }
+    
+    /**
+     * Executa o BRKGA com cada estratégia do ensemble ao mesmo tempo, uma thread por
+     * estratégia. As execuções dividem o prazo de parede e repartem as avaliações da
+     * fase; as frentes são combinadas em ordem fixa de estratégias, e cada ponto é
+     * atribuído à primeira estratégia que o encontrou.
+     */
+    private ParetoArchive runEnsemble(Budget budget) throws IOException {
+        List<BRKGADecoder.DecodingStrategy> strategies = parameters.getEnsembleStrategies();
+        TerminationCriterion termination = brkgaTermination(
+                budget.allocateConcurrent(parameters.getBrkgaBudgetShare(), strategies.size()));
+        long phaseStart = System.currentTimeMillis();
+        
+        ensembleRuns = new EnumMap<>(BRKGADecoder.DecodingStrategy.class);
+        for (BRKGADecoder.DecodingStrategy strategy : strategies) {
+            String checkpointName = "brkga-" + strategy.name().toLowerCase(Locale.ROOT) + ".ckpt";
+            ensembleRuns.put(strategy, createBRKGA(strategy, termination, checkpointName));
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(strategies.size());
+        try {
+            List<Future<ParetoArchive>> futures = new ArrayList<>(strategies.size());
+            for (MOBRKGA run : ensembleRuns.values()) {
+                futures.add(executor.submit(run::run));
+            }
+            for (Future<ParetoArchive> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ensemble interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ensemble run failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        ensembleExecutionTime = System.currentTimeMillis() - phaseStart;
+        
+        ParetoArchive merged = new ParetoArchive(parameters.getArchiveSize());
+        Map<Long, BRKGADecoder.DecodingStrategy> attribution = new HashMap<>();
+        for (Map.Entry<BRKGADecoder.DecodingStrategy, MOBRKGA> entry : ensembleRuns.entrySet()) {
+            budget.consume(entry.getValue().getEvaluations());
+            for (AllocationSolution solution : entry.getValue().getArchive().getSolutions()) {
+                if (merged.add(solution)) {
+                    attribution.putIfAbsent(solution.getFingerprint(), entry.getKey());
+                }
+            }
+        }
+        
+        // Apenas os pontos que permaneceram na frente combinada
+        strategyAttribution.clear();
+        for (AllocationSolution solution : merged.getSolutions()) {
+            strategyAttribution.put(solution.getFingerprint(), attribution.get(solution.getFingerprint()));
+        }
+        
+        logger.info("Ensemble BRKGA completed in {} ms. Merged archive size: {}, contributions: {}",
+                   ensembleExecutionTime, merged.size(), ensembleContributions());
+        return merged;
+    }
+    
+    /**
+     * Critério de parada do BRKGA: a parte do orçamento mais a estagnação configurada
+     */
+    private TerminationCriterion brkgaTermination(TerminationCriterion budgetCriterion) {
+        TerminationCriterion termination = budgetCriterion.or(stagnationCriterion());
+        if (parameters.getHypervolumeStagnationWindow() > 0) {
+            termination = termination.or(TerminationCriterion.hypervolumeStagnation(
+                    parameters.getHypervolumeStagnationWindow(), 0.0));
+        }
+        return termination;
+    }
+    
+    /**
+     * Cria (ou retoma do checkpoint) uma execução do BRKGA com a estratégia informada
+     */
+    private MOBRKGA createBRKGA(BRKGADecoder.DecodingStrategy strategy, TerminationCriterion termination,
+                                String checkpointName) throws IOException {
         BRKGAParameters brkgaParams = new BRKGAParameters.Builder()
                 .populationSize(parameters.getBrkgaPopulationSize())
                 .maxGenerations(parameters.getBrkgaMaxGenerations())
@@ -87,37 +216,93 @@ public class VMAllocationOptimizer {
                 .inheritanceProbability(parameters.getBrkgaInheritanceProbability())
                 .archiveSize(parameters.getArchiveSize())
                 .randomSeed(parameters.getRandomSeed())
+                .parallelism(parameters.getBrkgaParallelism())
+                .encoding(parameters.getBrkgaEncoding())
+                .termination(termination)
                 .build();
         
-        brkga = new MOBRKGA(instance, brkgaParams, parameters.getDecodingStrategy());
-        ParetoArchive archive = brkga.run();
-        
-        logger.info("BRKGA completed. Archive size: {}", archive.size());
-        return archive;
+        MOBRKGA run;
+        Path checkpoint = checkpointFile(checkpointName);
+        if (checkpoint != null && Files.exists(checkpoint)) {
+            run = MOBRKGA.resume(instance, brkgaParams, strategy, checkpoint);
+        } else {
+            run = new MOBRKGA(instance, brkgaParams, strategy);
+            run.seed(warmStartSolutions);
+        }
+        if (checkpoint != null) {
+            run.enableCheckpointing(checkpoint, checkpointInterval);
+        }
+        return run;
+    }
+    
+    /**
+     * Número de pontos da frente do ensemble encontrados por cada estratégia
+     */
+    private Map<BRKGADecoder.DecodingStrategy, Integer> ensembleContributions() {
+        Map<BRKGADecoder.DecodingStrategy, Integer> contributions = new EnumMap<>(BRKGADecoder.DecodingStrategy.class);
+        for (BRKGADecoder.DecodingStrategy strategy : ensembleRuns.keySet()) {
+            contributions.put(strategy, 0);
+        }
+        for (BRKGADecoder.DecodingStrategy strategy : strategyAttribution.values()) {
+            contributions.merge(strategy, 1, Integer::sum);
+        }
+        return contributions;
     }
     
     /**
      * Executa busca tabu multi-objetivo
      */
-    private ParetoArchive runTabuSearch(ParetoArchive initialSolutions) {
-        TabuSearch.TabuParameters tabuParams = new TabuSearch.TabuParameters(
-                parameters.getTabuMaxIterations(),
-                parameters.getTabuListSize(),
-                50, // diversification frequency
-                parameters.getArchiveSize(),
-                0.4, // cost weight
-                0.6, // reliability weight
-                parameters.getRandomSeed()
-        );
-        
-        tabuSearch = new TabuSearch(instance, tabuParams);
+    private ParetoArchive runTabuSearch(ParetoArchive initialSolutions, Budget budget) throws IOException {
+        TabuSearch.TabuParameters tabuParams = new TabuSearch.TabuParameters.Builder()
+                .maxIterations(parameters.getTabuMaxIterations())
+                .tabuListSize(parameters.getTabuListSize())
+                .diversificationFrequency(50)
+                .archiveSize(parameters.getArchiveSize())
+                .costWeight(0.4)
+                .reliabilityWeight(0.6)
+                .randomSeed(parameters.getRandomSeed())
+                .parallelism(parameters.getTabuParallelism())
+                .sampleSize(parameters.getTabuSampleSize())
+                .candidateHosts(parameters.getTabuCandidateHosts())
+                .dontLookBits(parameters.isTabuDontLookBits())
+                .swapMoves(parameters.isTabuSwapMoves())
+                .ejectionChainLength(parameters.getTabuEjectionChainLength())
+                .ejectionCandidates(parameters.getTabuEjectionCandidates())
+                .evacuationCandidates(parameters.getTabuEvacuationCandidates())
+                .termination(budget.allocate(1.0).or(stagnationCriterion())) // todo o restante
+                .build();
+        
+        Path checkpoint = checkpointFile("tabu.ckpt");
+        if (checkpoint != null && Files.exists(checkpoint)) {
+            tabuSearch = TabuSearch.resume(instance, tabuParams, checkpoint);
+        } else {
+            tabuSearch = new TabuSearch(instance, tabuParams);
+        }
+        if (checkpoint != null) {
+            tabuSearch.enableCheckpointing(checkpoint, checkpointInterval);
+        }
         ParetoArchive tabuArchive = tabuSearch.run(initialSolutions);
+        budget.consume(tabuSearch.getEvaluations());
         
         logger.info("Tabu Search completed. Archive size: {}, Improvements: {}", 
                    tabuArchive.size(), tabuSearch.getImprovementCount());
         return tabuArchive;
     }
     
+    private Path checkpointFile(String name) {
+        return checkpointDirectory != null ? checkpointDirectory.resolve(name) : null;
+    }
+    
+    /**
+     * Critério de estagnação do arquivo comum às duas fases, se configurado
+     */
+    private TerminationCriterion stagnationCriterion() {
+        if (parameters.getArchiveStagnationIterations() > 0) {
+            return TerminationCriterion.archiveUnchanged(parameters.getArchiveStagnationIterations());
+        }
+        return TerminationCriterion.never();
+    }
+    
     /**
      * Combina múltiplas fronteiras de Pareto em uma única
      */
@@ -146,7 +331,24 @@ public class VMAllocationOptimizer {
         if (brkga != null) {
             reportBuilder.brkgaExecutionTime(brkga.getExecutionTime())
                         .brkgaGenerations(brkga.getCurrentGeneration())
-                        .brkgaArchiveSizeHistory(brkga.getArchiveSizeHistory());
+                        .brkgaArchiveSizeHistory(brkga.getArchiveSizeHistory())
+                        .brkgaHypervolumeHistory(brkga.getHyperVolumeHistory());
+        }
+        
+        if (ensembleRuns != null) {
+            int generations = 0;
+            List<List<Integer>> sizeHistories = new ArrayList<>();
+            List<List<Double>> hypervolumeHistories = new ArrayList<>();
+            for (MOBRKGA run : ensembleRuns.values()) {
+                generations = Math.max(generations, run.getCurrentGeneration());
+                sizeHistories.add(run.getArchiveSizeHistory());
+                hypervolumeHistories.add(run.getHyperVolumeHistory());
+            }
+            reportBuilder.brkgaExecutionTime(ensembleExecutionTime)
+                        .brkgaGenerations(generations)
+                        .brkgaArchiveSizeHistory(bestPerGeneration(sizeHistories))
+                        .brkgaHypervolumeHistory(bestPerGeneration(hypervolumeHistories))
+                        .ensembleContributions(ensembleContributions());
         }
         
         if (tabuSearch != null) {
@@ -157,6 +359,31 @@ public class VMAllocationOptimizer {
         return reportBuilder.build();
     }
     
+    /**
+     * Histórico do ensemble: em cada geração, o maior valor entre as estratégias. Uma
+     * execução que parou antes continua contribuindo com o seu último valor.
+     */
+    private static <T extends Comparable<T>> List<T> bestPerGeneration(List<List<T>> histories) {
+        int length = 0;
+        for (List<T> history : histories) {
+            length = Math.max(length, history.size());
+        }
+        List<T> best = new ArrayList<>(length);
+        for (int generation = 0; generation < length; generation++) {
+            T value = null;
+            for (List<T> history : histories) {
+                if (!history.isEmpty()) {
+                    T candidate = history.get(Math.min(generation, history.size() - 1));
+                    if (value == null || candidate.compareTo(value) > 0) {
+                        value = candidate;
+                    }
+                }
+            }
+            best.add(value);
+        }
+        return best;
+    }
+    
     // Getters para acesso aos resultados
     public ParetoArchive getFinalArchive() {
         return finalArchive;
@@ -166,6 +393,13 @@ public class VMAllocationOptimizer {
         return report;
     }
     
+    /**
+     * Execuções do ensemble por estratégia, ou mapa vazio fora do modo ensemble
+     */
+    public Map<BRKGADecoder.DecodingStrategy, MOBRKGA> getEnsembleRuns() {
+        return ensembleRuns != null ? Collections.unmodifiableMap(ensembleRuns) : Collections.emptyMap();
+    }
+    
     public long getTotalExecutionTime() {
         return totalExecutionTime;
     }
@@ -201,10 +435,17 @@ public class VMAllocationOptimizer {
     public static class OptimizationResult {
         private final ParetoArchive archive;
         private final ExecutionReport report;
+        private final Map<Long, BRKGADecoder.DecodingStrategy> strategyAttribution;
         
         public OptimizationResult(ParetoArchive archive, ExecutionReport report) {
+            this(archive, report, Collections.emptyMap());
+        }
+        
+        public OptimizationResult(ParetoArchive archive, ExecutionReport report,
+                                  Map<Long, BRKGADecoder.DecodingStrategy> strategyAttribution) {
             this.archive = archive;
             this.report = report;
+            this.strategyAttribution = new HashMap<>(strategyAttribution);
         }
         
         public ParetoArchive getArchive() {
@@ -231,6 +472,14 @@ public class VMAllocationOptimizer {
             return archive.getSolutions();
         }
         
+        /**
+         * Estratégia do ensemble que encontrou a solução, ou null se ela não veio da
+         * frente do ensemble (p.ex. foi encontrada pela busca tabu)
+         */
+        public BRKGADecoder.DecodingStrategy getContributingStrategy(AllocationSolution solution) {
+            return strategyAttribution.get(solution.getFingerprint());
+        }
+        
         @Override
         public String toString() {
             return String.format("OptimizationResult{archiveSize=%d, executionTime=%d ms}", 
@@ -1,15 +1,28 @@
 package com.ramonyago.cloudsim.algorithm;
 
+import com.ramonyago.cloudsim.algorithm.termination.SearchProgress;
+import com.ramonyago.cloudsim.algorithm.termination.TerminationCriterion;
+import com.ramonyago.cloudsim.io.AsyncCheckpointWriter;
+import com.ramonyago.cloudsim.io.CheckpointCodec;
 import com.ramonyago.cloudsim.model.AllocationSolution;
+import com.ramonyago.cloudsim.model.CompiledInstance;
 import com.ramonyago.cloudsim.model.ProblemInstance;
-import com.ramonyago.cloudsim.model.VM;
-import com.ramonyago.cloudsim.model.Host;
-import com.ramonyago.cloudsim.model.ResourceType;
 import com.ramonyago.cloudsim.util.ParetoArchive;
+import com.ramonyago.cloudsim.util.TranspositionCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Multi-Objective Tabu Search for VM allocation optimization.
@@ -17,26 +30,80 @@ import java.util.*;
  */
 public class TabuSearch {
     private static final Logger logger = LoggerFactory.getLogger(TabuSearch.class);
+    private static final int EVALUATION_CACHE_SIZE = 1 << 16;
+    private static final int CHECKPOINT_MAGIC = 0x54414243; // "TABC"
+    private static final long SEED_STRIDE = 0x9E3779B97F4A7C15L; // derives per-start RNG seeds
     
     private final ProblemInstance instance;
+    private final CompiledInstance compiled;
     private final TabuParameters parameters;
-    private final Random random;
+    private Random random; // replaced when resuming from a checkpoint
     
-    private Set<TabuMove> tabuList;
     private ParetoArchive archive;
-    private AllocationSolution currentSolution;
+    private SearchState activeState; // start being searched, in sequential mode
+    private final TranspositionCache evaluationCache; // objectives of placements already evaluated
+    private final HostPriorityIndex hostIndex; // null unless targets are limited to the best hosts
     
     // Execution statistics
     private long executionTime;
     private int iterations;
     private int improvementCount;
+    private SearchProgress progress;
+    
+    // Periodic checkpointing, and the position restored by resume()
+    private Path checkpointFile;
+    private int checkpointInterval;
+    private AsyncCheckpointWriter checkpointWriter;
+    private int resumeStart;
+    private int resumeIteration;
+    private SearchState resumeState; // interrupted start, restored with its tabu list
+    private long resumedEvaluations;
+    private int positionStart;     // start being searched
+    private int positionIteration; // next iteration of that start
+    private boolean stoppedEarly;  // termination criterion met; a resumed search stops at once
     
     public TabuSearch(ProblemInstance instance, TabuParameters parameters) {
         this.instance = instance;
+        this.compiled = instance.compile();
         this.parameters = parameters;
         this.random = new Random(parameters.getRandomSeed());
-        this.tabuList = new LinkedHashSet<>();
         this.archive = new ParetoArchive(parameters.getArchiveSize());
+        this.evaluationCache = new TranspositionCache(EVALUATION_CACHE_SIZE);
+        this.hostIndex = parameters.getCandidateHosts() > 0 ? new HostPriorityIndex() : null;
+    }
+    
+    /**
+     * Writes the search state every interval iterations, and when the run ends, to file.
+     * Writes happen on a background thread; a checkpoint due while the previous one is
+     * still being written is skipped. Parallel searches (parallelism > 1) have no single
+     * position to save and are rejected.
+     */
+    public void enableCheckpointing(Path file, int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        if (parameters.getParallelism() > 1) {
+            throw new IllegalArgumentException("Checkpointing is not supported by parallel tabu search");
+        }
+        this.checkpointFile = file;
+        this.checkpointInterval = interval;
+    }
+    
+    /**
+     * Recreates a search from a checkpoint written by {@link #enableCheckpointing}.
+     * The next {@link #run(ParetoArchive)} must receive the same initial solutions; it
+     * skips the completed starts and continues the interrupted one from the saved
+     * solution, tabu list and random state. Time and stagnation criteria restart.
+     */
+    public static TabuSearch resume(ProblemInstance instance, TabuParameters parameters,
+                                    Path file) throws IOException {
+        TabuSearch search = new TabuSearch(instance, parameters);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            search.readCheckpoint(in);
+        }
+        logger.info("Tabu Search resumed from {} at start {}, iteration {}",
+                   file, search.resumeStart, search.resumeIteration);
+        return search;
     }
     
     /**
@@ -45,172 +112,785 @@ public class TabuSearch {
     public ParetoArchive run(ParetoArchive initialSolutions) {
         logger.info("Starting Tabu Search with {} initial solutions", initialSolutions.size());
         long startTime = System.currentTimeMillis();
+        progress = new SearchProgress();
+        progress.addEvaluations(resumedEvaluations);
+        if (checkpointFile != null) {
+            checkpointWriter = new AsyncCheckpointWriter(checkpointFile);
+        }
         
         // Initialize archive with initial solutions
-        for (AllocationSolution solution : initialSolutions.getSolutions()) {
+        List<AllocationSolution> starts = initialSolutions.getSolutions();
+        for (AllocationSolution solution : starts) {
             archive.add(solution);
         }
         
-        // Run tabu search from each non-dominated solution
-        for (AllocationSolution solution : initialSolutions.getSolutions()) {
-            runFromSolution(solution);
+        positionStart = resumeStart;
+        positionIteration = resumeIteration;
+        try {
+            if (parameters.getParallelism() > 1) {
+                runParallel(starts);
+            } else {
+                // One tabu memory serves every start
+                TabuMemory memory = resumeState != null ? resumeState.memory : createMemory();
+                
+                // Run tabu search from each non-dominated solution
+                for (int start = resumeStart; start < starts.size() && !isTerminated(); start++) {
+                    runFromSolution(createState(start, starts.get(start), memory));
+                }
+            }
+        } finally {
+            if (checkpointWriter != null) {
+                checkpointWriter.awaitIdle();
+                checkpoint();
+                checkpointWriter.close();
+                checkpointWriter = null;
+            }
         }
         
         executionTime = System.currentTimeMillis() - startTime;
-        logger.info("Tabu Search completed in {} ms, {} iterations, {} improvements", 
-                   executionTime, iterations, improvementCount);
+        logger.info("Tabu Search completed in {} ms, {} iterations, {} evaluations, {} improvements", 
+                   executionTime, iterations, progress.getEvaluations(), improvementCount);
+        logger.debug("Evaluation cache: {}", evaluationCache);
         
         return archive;
     }
     
     /**
-     * Runs tabu search starting from a specific solution
+     * Runs the starts on parallel workers. Workers take the next unclaimed start from a
+     * shared counter when they finish one, so long trajectories do not leave the others
+     * idle. Each start has its own tabu memory and a random stream derived from the seed;
+     * the archive and the evaluation cache are shared. Trajectories interact through the
+     * archive (aspiration) and the cache, so results depend on thread scheduling.
+     */
+    private void runParallel(List<AllocationSolution> starts) {
+        AtomicInteger nextStart = new AtomicInteger(resumeStart);
+        int workers = Math.min(parameters.getParallelism(), Math.max(1, starts.size() - resumeStart));
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                futures.add(executor.submit(() -> {
+                    TabuMemory memory = createMemory(); // reused by the worker's starts
+                    for (int start = nextStart.getAndIncrement(); start < starts.size() && !isTerminated();
+                         start = nextStart.getAndIncrement()) {
+                        runFromSolution(createState(start, starts.get(start), memory));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tabu search interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tabu search worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Search state for a start: the one restored by resume(), or a fresh one. Sequential
+     * runs share the search's random generator across starts; parallel runs derive one
+     * per start from the seed. A fresh state clears and reuses the given memory.
+     */
+    private synchronized SearchState createState(int start, AllocationSolution initialSolution, TabuMemory memory) {
+        if (resumeState != null && resumeState.start == start) {
+            SearchState state = resumeState;
+            resumeState = null;
+            return state;
+        }
+        Random stateRandom = parameters.getParallelism() > 1
+                ? new Random(parameters.getRandomSeed() + (start + 1) * SEED_STRIDE)
+                : random;
+        memory.clear();
+        return newState(start, new AllocationSolution(initialSolution.rebase(compiled)), stateRandom, memory);
+    }
+    
+    private SearchState newState(int start, AllocationSolution solution, Random stateRandom, TabuMemory memory) {
+        HostMembers members = null;
+        if (parameters.isSwapMoves() || parameters.getEjectionChainLength() >= 2
+                || parameters.getEvacuationCandidates() > 0 || parameters.isDontLookBits()) {
+            members = new HostMembers(compiled.getVMCount(), compiled.getHostCount());
+            members.rebuild(solution);
+        }
+        SearchState state = new SearchState(start, solution, stateRandom, memory,
+                                            parameters.isDontLookBits() ? new BitSet() : null, members);
+        if (parameters.getEvacuationCandidates() > 0) {
+            state.plannedUsage = new double[compiled.getHostCount() * compiled.getResourceCount()];
+        }
+        int candidateHosts = parameters.getCandidateHosts();
+        state.targetBuffer = new int[Math.max(2, candidateHosts)];
+        if (parameters.isSwapMoves() || parameters.getEjectionChainLength() >= 2) {
+            int depth = Math.max(2, parameters.getEjectionChainLength());
+            state.chainHosts = new int[depth];
+            state.blockedHosts = new int[depth][candidateHosts > 0 ? candidateHosts : compiled.getHostCount()];
+            state.roomHosts = new int[2 * compiled.getVMCount()];
+            state.roomStamp = new int[compiled.getVMCount()];
+        }
+        return state;
+    }
+    
+    private TabuMemory createMemory() {
+        return new TabuMemory(compiled.getVMCount(), compiled.getHostCount());
+    }
+    
+    /**
+     * Runs tabu search from the state's current solution until maxIterations
      */
-    private void runFromSolution(AllocationSolution initialSolution) {
-        currentSolution = new AllocationSolution(initialSolution);
-        tabuList.clear();
+    private void runFromSolution(SearchState state) {
+        boolean sequential = parameters.getParallelism() <= 1;
+        if (sequential) {
+            activeState = state;
+            positionStart = state.start;
+            positionIteration = state.iteration;
+        }
         
-        for (int iter = 0; iter < parameters.getMaxIterations(); iter++) {
-            iterations++;
+        TranspositionCache.Entry cached = new TranspositionCache.Entry();
+        for (int iter = state.iteration; iter < parameters.getMaxIterations() && !isTerminated(); iter++) {
+            boolean archiveChanged = false;
+            boolean skippedVMs = state.dontLook != null && !state.dontLook.isEmpty();
             
             // Generate neighborhood
-            List<TabuMove> neighborhood = generateNeighborhood(currentSolution);
+            List<TabuMove> neighborhood = generateNeighborhood(state);
+            int evaluations = neighborhood.size();
             
             // Find best non-tabu move
-            TabuMove bestMove = selectBestMove(neighborhood);
+            TabuMove bestMove = selectBestMove(state, neighborhood);
+            
+            // Every VM was skipped: rescan them all rather than stall without a move
+            if (skippedVMs && bestMove == null) {
+                state.dontLook.clear();
+                neighborhood = generateNeighborhood(state);
+                evaluations += neighborhood.size();
+                bestMove = selectBestMove(state, neighborhood);
+            }
             
             if (bestMove != null) {
                 // Apply move
-                AllocationSolution newSolution = applyMove(currentSolution, bestMove);
+                AllocationSolution newSolution = applyMove(state.currentSolution, bestMove);
                 
-                // Check if it improves the archive
+                // Revisited placements reuse their objectives; they are still offered to the
+                // archive, which may have room now for a placement it once rejected
+                boolean revisited = evaluationCache.get(newSolution.getFingerprint(), cached);
+                if (revisited) {
+                    newSolution.setCachedObjectives(cached.cost, cached.reliability);
+                }
                 if (archive.add(newSolution)) {
-                    improvementCount++;
+                    archiveChanged = true;
                     logger.debug("Iteration {}: Found improving solution (cost: {}, reliability: {})",
                                iter, String.format("%.2f", newSolution.getTotalCost()),
                                String.format("%.3f", newSolution.getTotalReliability()));
                 }
+                if (!revisited) {
+                    evaluationCache.put(newSolution.getFingerprint(), newSolution.getTotalCost(),
+                                        newSolution.getTotalReliability(), newSolution.isFeasible());
+                }
                 
                 // Update current solution
-                currentSolution = newSolution;
+                state.currentSolution = newSolution;
+                if (state.members != null) {
+                    for (TabuMove step = bestMove; step != null; step = step.getNext()) {
+                        state.members.move(step.getVm(), step.getFromHost(), step.getToHost());
+                    }
+                }
+                updateDontLookBits(state, bestMove);
                 
                 // Update tabu list
-                updateTabuList(bestMove);
+                updateTabuList(state, bestMove);
             }
             
             // Diversification if no improvement for too long
             if (iter % parameters.getDiversificationFrequency() == 0 && iter > 0) {
-                diversify();
+                diversify(state);
             }
+            
+            state.memory.tick();
+            state.iteration = iter + 1;
+            int completed = recordIteration(evaluations, archiveChanged);
+            
+            if (sequential) {
+                positionIteration = state.iteration;
+                if (checkpointWriter != null && completed % checkpointInterval == 0) {
+                    if (checkpointWriter.isBusy()) {
+                        logger.debug("Skipping checkpoint at iteration {}: previous write still running", completed);
+                    } else {
+                        checkpoint();
+                    }
+                }
+            }
+        }
+        
+        if (sequential && positionIteration >= parameters.getMaxIterations()) {
+            positionStart = state.start + 1;
+            positionIteration = 0;
+        }
+    }
+    
+    /**
+     * Accounts for a finished iteration; shared by all workers
+     * @return the total number of iterations so far
+     */
+    private synchronized int recordIteration(int evaluations, boolean archiveChanged) {
+        iterations++;
+        if (archiveChanged) {
+            improvementCount++;
+        }
+        progress.addEvaluations(evaluations);
+        progress.recordIteration(archiveChanged, Double.NaN);
+        return iterations;
+    }
+    
+    /**
+     * Captures the state and schedules the write. Solutions are never modified once
+     * created (moves copy them), so the archive and current solution are captured by
+     * reference; the active tabu entries and counters are copied.
+     */
+    private void checkpoint() {
+        int start = positionStart;
+        int nextIteration = positionIteration;
+        // Only a start interrupted midway needs its current solution and tabu memory
+        SearchState state = activeState != null ? activeState : resumeState;
+        boolean inProgress = nextIteration > 0 && state != null && state.start == start;
+        int[] tabuEntries = inProgress ? state.memory.activeEntries() : new int[0];
+        boolean finished = stoppedEarly;
+        int iterationCount = iterations;
+        int improvements = improvementCount;
+        long evaluations = progress.getEvaluations();
+        byte[] randomState = CheckpointCodec.serializeRandom(random);
+        List<AllocationSolution> current = inProgress
+                ? Collections.singletonList(state.currentSolution) : Collections.emptyList();
+        List<AllocationSolution> archived = archive.getSolutions();
+        
+        checkpointWriter.submit(out -> {
+            CheckpointCodec.writeHeader(out, CHECKPOINT_MAGIC, compiled);
+            out.writeInt(start);
+            out.writeInt(nextIteration);
+            out.writeBoolean(finished);
+            out.writeInt(iterationCount);
+            out.writeInt(improvements);
+            out.writeLong(evaluations);
+            CheckpointCodec.writeBytes(out, randomState);
+            CheckpointCodec.writeSolutions(out, current, compiled);
+            out.writeInt(tabuEntries.length / 3);
+            for (int value : tabuEntries) {
+                out.writeInt(value);
+            }
+            CheckpointCodec.writeSolutions(out, archived, compiled);
+        });
+    }
+    
+    private void readCheckpoint(DataInputStream in) throws IOException {
+        CheckpointCodec.readHeader(in, CHECKPOINT_MAGIC, compiled);
+        resumeStart = in.readInt();
+        resumeIteration = in.readInt();
+        stoppedEarly = in.readBoolean();
+        iterations = in.readInt();
+        improvementCount = in.readInt();
+        resumedEvaluations = in.readLong();
+        random = CheckpointCodec.readRandom(in);
+        
+        List<AllocationSolution> current = CheckpointCodec.readSolutions(in, compiled);
+        int tabuCount = in.readInt();
+        TabuMemory memory = createMemory();
+        for (int i = 0; i < tabuCount; i++) {
+            memory.forbid(in.readInt(), in.readInt(), in.readInt());
+        }
+        if (!current.isEmpty()) {
+            resumeState = newState(resumeStart, current.get(0), random, memory);
+            resumeState.iteration = resumeIteration;
+        }
+        for (AllocationSolution solution : CheckpointCodec.readSolutions(in, compiled)) {
+            archive.add(solution);
+        }
+    }
+    
+    private synchronized boolean isTerminated() {
+        // Sticky, so that the remaining starts are skipped and a resume does not continue
+        if (!stoppedEarly && parameters.getTermination().isMet(progress)) {
+            stoppedEarly = true;
         }
+        return stoppedEarly;
     }
     
     /**
-     * Generates neighborhood by considering VM moves
+     * Generates neighborhood by considering VM moves. The candidate-list parameters
+     * bound its size: only sampleSize random VMs are scanned, only the candidateHosts
+     * best targets of each VM are kept, and VMs whose don't-look bit is set are skipped.
      */
-    private List<TabuMove> generateNeighborhood(AllocationSolution solution) {
+    private List<TabuMove> generateNeighborhood(SearchState state) {
         List<TabuMove> moves = new ArrayList<>();
+        state.neighborhoodStamp++;
+        int vmCount = compiled.getVMCount();
+        int sampleSize = parameters.getSampleSize();
         
-        // Try moving each VM to different hosts
-        for (VM vm : solution.getVmToHost().keySet()) {
-            Host currentHost = solution.getHostForVM(vm);
-            
-            for (Host targetHost : instance.getHosts()) {
-                if (!targetHost.equals(currentHost)) {
-                    // Check if move is feasible
-                    if (isMoveValid(solution, vm, targetHost)) {
-                        moves.add(new TabuMove(vm, currentHost, targetHost));
-                    }
+        if (sampleSize > 0 && vmCount > 0) {
+            for (int i = 0; i < sampleSize; i++) {
+                addMovesOfVM(state, state.random.nextInt(vmCount), moves);
+            }
+        } else {
+            for (int vm = 0; vm < vmCount; vm++) {
+                addMovesOfVM(state, vm, moves);
+            }
+        }
+        state.scannedMoves = moves.size();
+        
+        if (state.plannedUsage != null) {
+            addEvacuationMoves(state, moves);
+        }
+        
+        return moves;
+    }
+    
+    /**
+     * Adds the moves of one VM: relocations (or insertions, if unallocated) and removal
+     */
+    private void addMovesOfVM(SearchState state, int vm, List<TabuMove> moves) {
+        if (state.dontLook != null && state.dontLook.get(vm)) {
+            return;
+        }
+        AllocationSolution solution = state.currentSolution;
+        int currentHost = solution.getHostIndexForVM(vm);
+        int before = moves.size();
+        
+        if (hostIndex != null) {
+            int count = hostIndex.bestTargets(solution, vm, currentHost, parameters.getCandidateHosts(),
+                                              state.targetBuffer);
+            for (int i = 0; i < count; i++) {
+                moves.add(new TabuMove(vm, currentHost, state.targetBuffer[i]));
+            }
+        } else {
+            // Only statically eligible hosts (reliability class and raw capacity) are scanned
+            for (int targetHost = compiled.nextEligibleHost(vm, 0); targetHost >= 0;
+                 targetHost = compiled.nextEligibleHost(vm, targetHost + 1)) {
+                if (targetHost != currentHost && isMoveValid(solution, vm, targetHost)) {
+                    moves.add(new TabuMove(vm, currentHost, targetHost));
                 }
             }
-            
-            // Also consider removing VM from current host (if not required)
-            if (canRemoveVM(solution, vm)) {
-                moves.add(new TabuMove(vm, currentHost, null));
+        }
+        
+        // Also consider removing VM from current host (if not required)
+        if (currentHost >= 0 && canRemoveVM(solution, vm)) {
+            moves.add(new TabuMove(vm, currentHost, TabuMove.NONE));
+        }
+        
+        if (state.chainHosts != null) {
+            addCompoundMoves(state, vm, currentHost, moves);
+        }
+        
+        if (moves.size() == before && state.dontLook != null) {
+            state.dontLook.set(vm); // nothing to try until the solution changes around it
+        }
+    }
+    
+    /**
+     * Adds swaps and ejection chains that take the VM to an eligible host without room
+     * for it, by moving one of that host's VMs out. Hosts with room are left to the
+     * plain relocations. The candidate-list bounds apply: with candidateHosts, only that
+     * many such hosts (the most reliable) are tried, and at most ejectionCandidates VMs
+     * of each. Moves are checked against residual capacity, not applied.
+     */
+    private void addCompoundMoves(SearchState state, int vm, int currentHost, List<TabuMove> moves) {
+        AllocationSolution solution = state.currentSolution;
+        boolean chains = parameters.getEjectionChainLength() >= 2;
+        int[] targets = state.blockedHosts[0];
+        state.chainHosts[0] = currentHost;
+        int targetCount = blockedTargets(state, vm, 1, targets);
+        
+        for (int i = 0; i < targetCount; i++) {
+            int host = targets[i];
+            int tried = 0;
+            for (int ejected = state.members.first(host); ejected >= 0 && tried < parameters.getEjectionCandidates();
+                 ejected = state.members.next(ejected)) {
+                tried++;
+                if (!solution.canFitReplacing(vm, host, ejected)) {
+                    continue;
+                }
+                if (parameters.isSwapMoves() && currentHost >= 0 && compiled.isEligible(ejected, currentHost)
+                        && solution.canFitReplacing(ejected, currentHost, vm)) {
+                    moves.add(new TabuMove(vm, currentHost, host, new TabuMove(ejected, host, currentHost)));
+                }
+                if (chains) {
+                    state.chainHosts[1] = host;
+                    TabuMove rest = extendChain(state, ejected, host, 2);
+                    if (rest != null) {
+                        moves.add(new TabuMove(vm, currentHost, host, rest));
+                    }
+                }
             }
         }
+    }
+    
+    /**
+     * Continues an ejection chain with the VM ejected from its last host: moves it to
+     * the best host with room or, while the length bound allows, ejects a VM from the
+     * first host that makes room. Hosts already in the chain (state.chainHosts[0, length))
+     * are skipped, so each host sees at most one departure and one arrival.
+     * @return the rest of the chain, or null if the VM cannot be placed
+     */
+    private TabuMove extendChain(SearchState state, int vm, int fromHost, int length) {
+        AllocationSolution solution = state.currentSolution;
+        int[] chainHosts = state.chainHosts;
         
-        // Try adding unallocated VMs to available hosts
-        for (VM vm : instance.getVMs()) {
-            if (solution.getHostForVM(vm) == null) {
-                for (Host host : instance.getHosts()) {
-                    if (isMoveValid(solution, vm, host)) {
-                        moves.add(new TabuMove(vm, null, host));
+        // The best hosts with room do not depend on the chain, so they are cached; only
+        // when both are already in the chain is a full scan needed
+        int best = roomHost(state, vm, 0);
+        int second = roomHost(state, vm, 1);
+        if (best != TabuMove.NONE && !inChain(chainHosts, length, best)) {
+            return new TabuMove(vm, fromHost, best);
+        }
+        if (second != TabuMove.NONE && !inChain(chainHosts, length, second)) {
+            return new TabuMove(vm, fromHost, second);
+        }
+        if (second != TabuMove.NONE) {
+            int bestHost = TabuMove.NONE;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int host = compiled.nextEligibleHost(vm, 0); host >= 0;
+                 host = compiled.nextEligibleHost(vm, host + 1)) {
+                if (!inChain(chainHosts, length, host) && solution.canFit(vm, host)) {
+                    double score = targetScore(solution, host);
+                    if (score > bestScore) {
+                        bestScore = score;
+                        bestHost = host;
                     }
                 }
             }
+            if (bestHost != TabuMove.NONE) {
+                return new TabuMove(vm, fromHost, bestHost);
+            }
+        }
+        if (length == parameters.getEjectionChainLength()) {
+            return null;
         }
         
-        return moves;
+        int[] targets = state.blockedHosts[length - 1];
+        int targetCount = blockedTargets(state, vm, length, targets);
+        for (int i = 0; i < targetCount; i++) {
+            int host = targets[i];
+            int tried = 0;
+            for (int ejected = state.members.first(host); ejected >= 0 && tried < parameters.getEjectionCandidates();
+                 ejected = state.members.next(ejected)) {
+                if (solution.canFitReplacing(vm, host, ejected)) {
+                    chainHosts[length] = host;
+                    TabuMove rest = extendChain(state, ejected, host, length + 1);
+                    return rest != null ? new TabuMove(vm, fromHost, host, rest) : null;
+                }
+                tried++;
+            }
+        }
+        return null;
     }
     
     /**
-     * Selects the best non-tabu move from neighborhood
+     * Fills targets with the eligible hosts outside the chain that lack room for the VM,
+     * at most candidateHosts of them when the host priority index is in use
+     * @return the number of hosts
      */
-    private TabuMove selectBestMove(List<TabuMove> neighborhood) {
-        TabuMove bestMove = null;
-        double bestScore = Double.NEGATIVE_INFINITY;
-        
-        for (TabuMove move : neighborhood) {
-            if (!isTabu(move) || satisfiesAspirationCriterion(move)) {
-                double score = evaluateMove(move);
-                if (score > bestScore) {
-                    bestScore = score;
-                    bestMove = move;
+    private int blockedTargets(SearchState state, int vm, int length, int[] targets) {
+        AllocationSolution solution = state.currentSolution;
+        if (hostIndex != null) {
+            return hostIndex.blockedTargets(solution, vm, state.chainHosts, length,
+                                            parameters.getCandidateHosts(), targets);
+        }
+        int count = 0;
+        for (int host = compiled.nextEligibleHost(vm, 0); host >= 0; host = compiled.nextEligibleHost(vm, host + 1)) {
+            if (!inChain(state.chainHosts, length, host) && !solution.canFit(vm, host)) {
+                targets[count++] = host;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * The rank-th (0 or 1) best host with room for the VM other than its own, or NONE.
+     * Computed at most once per VM and neighborhood.
+     */
+    private int roomHost(SearchState state, int vm, int rank) {
+        if (state.roomStamp[vm] != state.neighborhoodStamp) {
+            AllocationSolution solution = state.currentSolution;
+            int currentHost = solution.getHostIndexForVM(vm);
+            int best = TabuMove.NONE;
+            int second = TabuMove.NONE;
+            if (hostIndex != null) {
+                int count = hostIndex.bestTargets(solution, vm, currentHost, 2, state.targetBuffer);
+                best = count > 0 ? state.targetBuffer[0] : TabuMove.NONE;
+                second = count > 1 ? state.targetBuffer[1] : TabuMove.NONE;
+            } else {
+                double bestScore = Double.NEGATIVE_INFINITY;
+                double secondScore = Double.NEGATIVE_INFINITY;
+                for (int host = compiled.nextEligibleHost(vm, 0); host >= 0;
+                     host = compiled.nextEligibleHost(vm, host + 1)) {
+                    if (host == currentHost || !solution.canFit(vm, host)) {
+                        continue;
+                    }
+                    double score = targetScore(solution, host);
+                    if (score > bestScore) {
+                        second = best;
+                        secondScore = bestScore;
+                        best = host;
+                        bestScore = score;
+                    } else if (score > secondScore) {
+                        second = host;
+                        secondScore = score;
+                    }
                 }
             }
+            state.roomHosts[2 * vm] = best;
+            state.roomHosts[2 * vm + 1] = second;
+            state.roomStamp[vm] = state.neighborhoodStamp;
+        }
+        return state.roomHosts[2 * vm + rank];
+    }
+    
+    private static boolean inChain(int[] chainHosts, int length, int host) {
+        for (int i = 0; i < length; i++) {
+            if (chainHosts[i] == host) {
+                return true;
+            }
         }
+        return false;
+    }
+    
+    /**
+     * Part of a move's score that depends on where the moved VM ends up
+     */
+    private double targetScore(AllocationSolution solution, int host) {
+        double activation = solution.getHostVmCount(host) == 0 ? compiled.getCost(host) : 0.0;
+        return parameters.getReliabilityWeight() * compiled.getRel(host) / compiled.getVMCount()
+                - parameters.getCostWeight() * activation / 1000.0;
+    }
+    
+    /**
+     * Adds a move evacuating each of the evacuationCandidates least loaded active hosts,
+     * when all their VMs fit on the other active hosts
+     */
+    private void addEvacuationMoves(SearchState state, List<TabuMove> moves) {
+        AllocationSolution solution = state.currentSolution;
+        int candidateCount = parameters.getEvacuationCandidates();
+        int[] candidates = new int[candidateCount];
+        double[] loads = new double[candidateCount];
+        int found = 0;
         
-        return bestMove;
+        // Keeps the lightest hosts sorted by load, by insertion
+        for (int host = 0; host < compiled.getHostCount(); host++) {
+            if (solution.getHostVmCount(host) == 0) {
+                continue;
+            }
+            double load = hostLoad(solution, host);
+            if (found == candidateCount && load >= loads[found - 1]) {
+                continue;
+            }
+            int position = Math.min(found, candidateCount - 1);
+            while (position > 0 && loads[position - 1] > load) {
+                candidates[position] = candidates[position - 1];
+                loads[position] = loads[position - 1];
+                position--;
+            }
+            candidates[position] = host;
+            loads[position] = load;
+            found = Math.min(found + 1, candidateCount);
+        }
+        
+        for (int i = 0; i < found; i++) {
+            TabuMove evacuation = planEvacuation(state, candidates[i]);
+            if (evacuation != null) {
+                moves.add(evacuation);
+            }
+        }
     }
     
     /**
-     * Checks if a move is valid (resource constraints, reliability requirements)
+     * Mean fraction of the host's capacity in use, over the resources it provides
+     */
+    private double hostLoad(AllocationSolution solution, int host) {
+        double load = 0.0;
+        int provided = 0;
+        for (int r = 0; r < compiled.getResourceCount(); r++) {
+            double capacity = compiled.getCap(r, host);
+            if (capacity > 0) {
+                load += 1.0 - solution.getHostResidual(host, r) / capacity;
+                provided++;
+            }
+        }
+        return provided > 0 ? load / provided : 0.0;
+    }
+    
+    /**
+     * Packs the host's VMs onto the other active hosts by best-fit decreasing, tracking
+     * the planned usage in scratch space instead of changing the solution. Each VM goes
+     * to the eligible host it leaves the least normalized room on.
+     * @return the relocations of every VM on the host, or null if some VM does not fit
      */
-    private boolean isMoveValid(AllocationSolution solution, VM vm, Host targetHost) {
-        if (targetHost == null) return true; // Removal is always valid
+    private TabuMove planEvacuation(SearchState state, int source) {
+        AllocationSolution solution = state.currentSolution;
+        int resourceCount = compiled.getResourceCount();
+        double[] planned = state.plannedUsage;
         
-        // Check resource constraints using the correct API
-        Map<ResourceType, Double> vmDemands = vm.getDemands();
-        Map<ResourceType, Double> hostCapacities = targetHost.getCaps();
+        int[] vms = new int[solution.getHostVmCount(source)];
+        double[] sizes = new double[vms.length];
+        int count = 0;
+        for (int vm = state.members.first(source); vm >= 0; vm = state.members.next(vm)) {
+            double size = 0.0;
+            for (int r = 0; r < resourceCount; r++) {
+                double capacity = compiled.getCap(r, source);
+                size += capacity > 0 ? compiled.getDemand(r, vm) / capacity : 0.0;
+            }
+            int position = count++;
+            while (position > 0 && sizes[position - 1] < size) {
+                vms[position] = vms[position - 1];
+                sizes[position] = sizes[position - 1];
+                position--;
+            }
+            vms[position] = vm;
+            sizes[position] = size;
+        }
         
-        // Calculate current usage on the target host
-        Map<ResourceType, Double> currentUsage = new HashMap<>();
-        for (ResourceType type : ResourceType.values()) {
-            currentUsage.put(type, 0.0);
+        int[] targets = new int[count];
+        Arrays.fill(targets, TabuMove.NONE);
+        boolean packed = true;
+        for (int i = 0; i < count && packed; i++) {
+            int vm = vms[i];
+            int bestHost = TabuMove.NONE;
+            double bestSlack = Double.POSITIVE_INFINITY;
+            for (int host = compiled.nextEligibleHost(vm, 0); host >= 0; host = compiled.nextEligibleHost(vm, host + 1)) {
+                if (host == source || solution.getHostVmCount(host) == 0) {
+                    continue;
+                }
+                double slack = 0.0;
+                for (int r = 0; r < resourceCount && slack >= 0.0; r++) {
+                    double room = solution.getHostResidual(host, r) - planned[host * resourceCount + r]
+                            - compiled.getDemand(r, vm);
+                    double capacity = compiled.getCap(r, host);
+                    slack = room < 0.0 ? -1.0 : slack + (capacity > 0 ? room / capacity : 0.0);
+                }
+                if (slack >= 0.0 && slack < bestSlack) {
+                    bestSlack = slack;
+                    bestHost = host;
+                }
+            }
+            if (bestHost == TabuMove.NONE) {
+                packed = false;
+            } else {
+                targets[i] = bestHost;
+                for (int r = 0; r < resourceCount; r++) {
+                    planned[bestHost * resourceCount + r] += compiled.getDemand(r, vm);
+                }
+            }
         }
         
-        // Sum demands of VMs already on this host
-        for (VM allocatedVm : solution.getVmsOnHost(targetHost)) {
-            for (ResourceType type : ResourceType.values()) {
-                double current = currentUsage.get(type);
-                currentUsage.put(type, current + allocatedVm.getDemand(type));
+        // Clear the scratch space for the next plan
+        for (int i = 0; i < count; i++) {
+            if (targets[i] != TabuMove.NONE) {
+                Arrays.fill(planned, targets[i] * resourceCount, (targets[i] + 1) * resourceCount, 0.0);
             }
         }
+        if (!packed) {
+            return null;
+        }
+        
+        TabuMove evacuation = null;
+        for (int i = count - 1; i >= 0; i--) {
+            evacuation = new TabuMove(vms[i], source, targets[i], evacuation);
+        }
+        return evacuation;
+    }
+    
+    /**
+     * Selects the best non-tabu move from neighborhood. With don't-look bits, VMs none
+     * of whose moves improves the current solution are marked to be skipped.
+     */
+    private TabuMove selectBestMove(SearchState state, List<TabuMove> neighborhood) {
+        TabuMove bestMove = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        BitSet dontLook = state.dontLook;
+        double currentScore = score(state.currentSolution.getTotalCost(),
+                                    state.currentSolution.getTotalReliability());
+        int scannedVM = TabuMove.NONE;
+        boolean scannedVMImproves = true;
         
-        // Check if adding this VM would violate capacity constraints
-        for (ResourceType type : ResourceType.values()) {
-            double demand = vmDemands.getOrDefault(type, 0.0);
-            double capacity = hostCapacities.getOrDefault(type, 0.0);
-            double usage = currentUsage.get(type);
+        // The moves of each scanned VM are contiguous; host evacuations follow them
+        for (int i = 0; i < neighborhood.size(); i++) {
+            TabuMove move = neighborhood.get(i);
+            if (dontLook != null && i < state.scannedMoves && move.getVm() != scannedVM) {
+                if (!scannedVMImproves) {
+                    dontLook.set(scannedVM);
+                }
+                scannedVM = move.getVm();
+                scannedVMImproves = false;
+            }
             
-            if (usage + demand > capacity) {
-                return false;
+            double score = evaluateMove(state.currentSolution, move);
+            if (score > currentScore && i < state.scannedMoves) {
+                scannedVMImproves = true;
+            }
+            if (score > bestScore && (!isTabu(state, move) || satisfiesAspirationCriterion(state, move))) {
+                bestScore = score;
+                bestMove = move;
             }
         }
+        if (dontLook != null && !scannedVMImproves) {
+            dontLook.set(scannedVM);
+        }
+        
+        return bestMove;
+    }
+    
+    /**
+     * Clears the don't-look bits the applied move invalidates. A move changes the deltas
+     * only of moves into or out of the hosts it touches: those of the VMs on them, and
+     * those of skipped VMs that now fit on one of them (capacity freed or the host just
+     * opened). Every other skipped VM stays skipped.
+     */
+    private void updateDontLookBits(SearchState state, TabuMove move) {
+        if (state.dontLook == null) {
+            return;
+        }
+        for (TabuMove step = move; step != null; step = step.getNext()) {
+            state.dontLook.clear(step.getVm());
+            clearDontLookBits(state, step.getFromHost());
+            clearDontLookBits(state, step.getToHost());
+        }
+    }
+    
+    private void clearDontLookBits(SearchState state, int host) {
+        if (host == TabuMove.NONE) {
+            return;
+        }
+        BitSet dontLook = state.dontLook;
+        for (int vm = state.members.first(host); vm >= 0; vm = state.members.next(vm)) {
+            dontLook.clear(vm);
+        }
+        AllocationSolution solution = state.currentSolution;
+        for (int vm = dontLook.nextSetBit(0); vm >= 0; vm = dontLook.nextSetBit(vm + 1)) {
+            if (compiled.isEligible(vm, host) && solution.canFit(vm, host)) {
+                dontLook.clear(vm);
+            }
+        }
+    }
+    
+    /**
+     * Checks if a move is valid (resource constraints, reliability requirements)
+     */
+    private boolean isMoveValid(AllocationSolution solution, int vm, int targetHost) {
+        if (targetHost == TabuMove.NONE) return true; // Removal is always valid
+        
+        // Check resource constraints against the solution's residual capacity ledger
+        if (!solution.canFit(vm, targetHost)) {
+            return false;
+        }
         
         // Check reliability requirement
-        double hostReliability = 1.0 - targetHost.getFailProb();
-        return hostReliability >= vm.getMinRel();
+        return compiled.getRel(targetHost) >= compiled.getMinRel(vm);
     }
     
     /**
      * Checks if a VM can be removed (not critical)
      */
-    private boolean canRemoveVM(AllocationSolution solution, VM vm) {
+    private boolean canRemoveVM(AllocationSolution solution, int vm) {
         // For now, assume all VMs should be allocated
         // This could be enhanced with priority-based logic
-        return vm.getPrio() < 1.0;
+        return compiled.getPrio(vm) < 1.0;
     }
     
     /**
@@ -219,31 +899,112 @@ public class TabuSearch {
     private AllocationSolution applyMove(AllocationSolution solution, TabuMove move) {
         AllocationSolution newSolution = new AllocationSolution(solution);
         
-        VM vm = move.getVm();
-        Host newHost = move.getToHost();
-        
-        // Remove from current host
-        if (move.getFromHost() != null) {
-            newSolution.deallocateVM(vm);
+        // Remove from current hosts; every VM of a compound move leaves before any arrives
+        for (TabuMove step = move; step != null; step = step.getNext()) {
+            if (step.getFromHost() != TabuMove.NONE) {
+                newSolution.deallocate(step.getVm());
+            }
         }
         
-        // Add to new host
-        if (newHost != null) {
-            newSolution.allocateVM(vm, newHost);
+        // Add to new hosts
+        for (TabuMove step = move; step != null; step = step.getNext()) {
+            if (step.getToHost() != TabuMove.NONE) {
+                newSolution.allocate(step.getVm(), step.getToHost());
+            }
         }
         
         return newSolution;
     }
     
     /**
-     * Evaluates the quality of a move using weighted objectives
+     * Evaluates the quality of a move using weighted objectives.
+     * Uses delta evaluation on the current solution instead of applying the move.
+     */
+    private double evaluateMove(AllocationSolution currentSolution, TabuMove move) {
+        double cost = currentSolution.getTotalCost() + deltaCost(currentSolution, move);
+        double reliability = currentSolution.getTotalReliability() + deltaReliability(currentSolution, move);
+        
+        return score(cost, reliability);
+    }
+    
+    /**
+     * Cost change of a move: hosts whose VM count goes from zero to positive are
+     * activated, those left with none are deactivated
+     */
+    private double deltaCost(AllocationSolution solution, TabuMove move) {
+        if (move.getNext() == null) {
+            return solution.deltaCost(move.getVm(), move.getToHost());
+        }
+        double delta = 0.0;
+        for (int change : activityChanges(solution, move)) {
+            delta += change > 0 ? compiled.getCost(change - 1) : -compiled.getCost(-change - 1);
+        }
+        return delta;
+    }
+    
+    /**
+     * Hosts whose activity the move changes: host + 1 if opened, -(host + 1) if emptied
      */
-    private double evaluateMove(TabuMove move) {
-        AllocationSolution testSolution = applyMove(currentSolution, move);
+    private int[] activityChanges(AllocationSolution solution, TabuMove move) {
+        int[] hosts = new int[2 * move.size()];
+        int[] netChange = new int[hosts.length];
+        int touched = 0;
+        for (TabuMove step = move; step != null; step = step.getNext()) {
+            touched = addNetChange(hosts, netChange, touched, step.getFromHost(), -1);
+            touched = addNetChange(hosts, netChange, touched, step.getToHost(), 1);
+        }
         
+        int changed = 0;
+        for (int i = 0; i < touched; i++) {
+            int before = solution.getHostVmCount(hosts[i]);
+            int after = before + netChange[i];
+            if (before == 0 && after > 0) {
+                hosts[changed++] = hosts[i] + 1;
+            } else if (before > 0 && after == 0) {
+                hosts[changed++] = -(hosts[i] + 1);
+            }
+        }
+        return Arrays.copyOf(hosts, changed);
+    }
+    
+    private static int addNetChange(int[] hosts, int[] netChange, int touched, int host, int change) {
+        if (host == TabuMove.NONE) {
+            return touched;
+        }
+        for (int i = 0; i < touched; i++) {
+            if (hosts[i] == host) {
+                netChange[i] += change;
+                return touched;
+            }
+        }
+        hosts[touched] = host;
+        netChange[touched] = change;
+        return touched + 1;
+    }
+    
+    /**
+     * Reliability change of a move: the sum of its relocations' changes
+     */
+    private double deltaReliability(AllocationSolution solution, TabuMove move) {
+        if (move.getNext() == null) {
+            return solution.deltaReliability(move.getVm(), move.getToHost());
+        }
+        double delta = 0.0;
+        for (TabuMove step = move; step != null; step = step.getNext()) {
+            double fromRel = step.getFromHost() != TabuMove.NONE ? compiled.getRel(step.getFromHost()) : 0.0;
+            double toRel = step.getToHost() != TabuMove.NONE ? compiled.getRel(step.getToHost()) : 0.0;
+            delta += toRel - fromRel;
+        }
+        return delta / compiled.getVMCount();
+    }
+    
+    /**
+     * Weighted combination of the objectives
+     */
+    private double score(double cost, double reliability) {
         // Normalize objectives
-        double costScore = -testSolution.getTotalCost() / 1000.0; // Minimize cost
-        double reliabilityScore = testSolution.getTotalReliability(); // Maximize reliability
+        double costScore = -cost / 1000.0; // Minimize cost
+        double reliabilityScore = reliability; // Maximize reliability
         
         // Weighted combination
         return parameters.getCostWeight() * costScore + 
@@ -251,21 +1012,29 @@ public class TabuSearch {
     }
     
     /**
-     * Checks if a move is in the tabu list
+     * Checks if any of the move's targets is forbidden for its VM
      */
-    private boolean isTabu(TabuMove move) {
-        return tabuList.contains(move);
+    private boolean isTabu(SearchState state, TabuMove move) {
+        for (TabuMove step = move; step != null; step = step.getNext()) {
+            if (state.memory.isTabu(step.getVm(), step.getToHost())) {
+                return true;
+            }
+        }
+        return false;
     }
     
     /**
      * Checks aspiration criterion (override tabu if solution is very good)
      */
-    private boolean satisfiesAspirationCriterion(TabuMove move) {
-        AllocationSolution testSolution = applyMove(currentSolution, move);
+    private boolean satisfiesAspirationCriterion(SearchState state, TabuMove move) {
+        AllocationSolution currentSolution = state.currentSolution;
+        double cost = currentSolution.getTotalCost() + deltaCost(currentSolution, move);
+        double reliability = currentSolution.getTotalReliability() + deltaReliability(currentSolution, move);
         
         // Check if it dominates current best solutions
         for (AllocationSolution archiveSolution : archive.getSolutions()) {
-            if (testSolution.compareDominance(archiveSolution) < 0) {
+            if (AllocationSolution.compareDominance(cost, reliability,
+                    archiveSolution.getTotalCost(), archiveSolution.getTotalReliability()) < 0) {
                 return true;
             }
         }
@@ -274,50 +1043,344 @@ public class TabuSearch {
     }
     
     /**
-     * Updates the tabu list with the applied move
+     * Forbids moving each moved VM back to the host it just left, for the tabu tenure
      */
-    private void updateTabuList(TabuMove move) {
-        tabuList.add(move);
-        
-        // Remove oldest move if tabu list is full
-        if (tabuList.size() > parameters.getTabuListSize()) {
-            Iterator<TabuMove> iterator = tabuList.iterator();
-            iterator.next();
-            iterator.remove();
+    private void updateTabuList(SearchState state, TabuMove move) {
+        int tenure = parameters.getTabuListSize();
+        if (parameters.getTenureRandomization() > 0) {
+            tenure += state.random.nextInt(parameters.getTenureRandomization() + 1);
+        }
+        for (TabuMove step = move; step != null; step = step.getNext()) {
+            state.memory.forbid(step.getVm(), step.getFromHost(), tenure);
         }
     }
     
     /**
      * Diversification strategy when search stagnates
      */
-    private void diversify() {
+    private void diversify(SearchState state) {
         logger.debug("Applying diversification strategy");
+        AllocationSolution currentSolution = state.currentSolution;
+        Random random = state.random;
         
         // Randomly move some VMs to different hosts
-        List<VM> allocatedVMs = new ArrayList<>(currentSolution.getVmToHost().keySet());
+        List<Integer> allocatedVMs = new ArrayList<>();
+        for (int vm = 0; vm < compiled.getVMCount(); vm++) {
+            if (currentSolution.getHostIndexForVM(vm) >= 0) {
+                allocatedVMs.add(vm);
+            }
+        }
         int movesToMake = Math.min(3, allocatedVMs.size());
+        int hostCount = compiled.getHostCount();
         
         Collections.shuffle(allocatedVMs, random);
         
         for (int i = 0; i < movesToMake; i++) {
-            VM vm = allocatedVMs.get(i);
-            List<Host> availableHosts = new ArrayList<>(instance.getHosts());
-            availableHosts.remove(currentSolution.getHostForVM(vm));
+            int vm = allocatedVMs.get(i);
+            int currentHost = currentSolution.getHostIndexForVM(vm);
             
-            if (!availableHosts.isEmpty()) {
-                Host newHost = availableHosts.get(random.nextInt(availableHosts.size()));
+            if (hostCount > 1) {
+                // Pick uniformly among the other hosts
+                int newHost = random.nextInt(hostCount - 1);
+                if (newHost >= currentHost) {
+                    newHost++;
+                }
                 if (isMoveValid(currentSolution, vm, newHost)) {
-                    TabuMove move = new TabuMove(vm, currentSolution.getHostForVM(vm), newHost);
+                    TabuMove move = new TabuMove(vm, currentHost, newHost);
                     currentSolution = applyMove(currentSolution, move);
                 }
             }
         }
+        state.currentSolution = currentSolution;
+        if (state.dontLook != null) {
+            state.dontLook.clear();
+        }
+        if (state.members != null) {
+            state.members.rebuild(currentSolution);
+        }
     }
     
     // Getters for statistics
     public long getExecutionTime() { return executionTime; }
     public int getIterations() { return iterations; }
     public int getImprovementCount() { return improvementCount; }
+    public long getEvaluations() { return progress != null ? progress.getEvaluations() : 0L; }
+    
+    /**
+     * Search state of one start trajectory, confined to the thread that searches it
+     */
+    private static final class SearchState {
+        final int start;
+        final Random random;
+        final TabuMemory memory;
+        final BitSet dontLook; // VMs skipped by the neighborhood; null if disabled, not checkpointed
+        final HostMembers members; // VMs of each host; null without compound moves and don't-look bits
+        double[] plannedUsage; // scratch for evacuation plans, [host * |R| + r]; null if disabled
+        int scannedMoves; // leading neighborhood moves that come from the per-VM scan
+        int neighborhoodStamp; // incremented for each neighborhood generated
+        int[] targetBuffer; // scratch for the host priority index
+        int[] chainHosts; // hosts of the compound move being built; null without swaps and chains
+        int[][] blockedHosts; // per chain depth, the full hosts tried
+        int[] roomHosts; // two best hosts with room per VM, valid where roomStamp matches
+        int[] roomStamp;
+        AllocationSolution currentSolution;
+        int iteration; // next iteration to run
+        
+        SearchState(int start, AllocationSolution currentSolution, Random random, TabuMemory memory,
+                    BitSet dontLook, HostMembers members) {
+            this.start = start;
+            this.currentSolution = currentSolution;
+            this.random = random;
+            this.memory = memory;
+            this.dontLook = dontLook;
+            this.members = members;
+        }
+    }
+    
+    /**
+     * VMs allocated to each host, as intrusive doubly linked lists over VM indices, so
+     * that swaps and ejection chains find a host's VMs without scanning the placement.
+     * Updated in O(1) per relocation.
+     */
+    private static final class HostMembers {
+        private final int[] head; // first VM of each host, or NONE
+        private final int[] next;
+        private final int[] previous;
+        
+        HostMembers(int vmCount, int hostCount) {
+            this.head = new int[hostCount];
+            this.next = new int[vmCount];
+            this.previous = new int[vmCount];
+        }
+        
+        void rebuild(AllocationSolution solution) {
+            Arrays.fill(head, TabuMove.NONE);
+            for (int vm = next.length - 1; vm >= 0; vm--) {
+                int host = solution.getHostIndexForVM(vm);
+                if (host != TabuMove.NONE) {
+                    link(vm, host);
+                }
+            }
+        }
+        
+        void move(int vm, int fromHost, int toHost) {
+            if (fromHost != TabuMove.NONE) {
+                if (previous[vm] != TabuMove.NONE) {
+                    next[previous[vm]] = next[vm];
+                } else {
+                    head[fromHost] = next[vm];
+                }
+                if (next[vm] != TabuMove.NONE) {
+                    previous[next[vm]] = previous[vm];
+                }
+            }
+            if (toHost != TabuMove.NONE) {
+                link(vm, toHost);
+            }
+        }
+        
+        private void link(int vm, int host) {
+            previous[vm] = TabuMove.NONE;
+            next[vm] = head[host];
+            if (head[host] != TabuMove.NONE) {
+                previous[head[host]] = vm;
+            }
+            head[host] = vm;
+        }
+        
+        int first(int host) {
+            return head[host];
+        }
+        
+        int next(int vm) {
+            return next[vm];
+        }
+    }
+    
+    /**
+     * Priority index of target hosts. The score of moving a VM to host h differs from
+     * that of other targets only by costWeight * activation cost (zero if h is active)
+     * and reliabilityWeight * rel(h) / V, so two static orders suffice: active targets by
+     * reliability, inactive ones by reliability net of activation cost. Merging them,
+     * with activity read from the solution's live host counts, yields a VM's k best
+     * feasible targets after scanning little more than k hosts on a loose fleet.
+     */
+    private final class HostPriorityIndex {
+        private final int[] byReliability;
+        private final int[] byActivationScore;
+        private final double[] activationScore;
+        private final double reliabilityShare; // score of one VM's reliability per unit
+        
+        HostPriorityIndex() {
+            int hostCount = compiled.getHostCount();
+            this.reliabilityShare = parameters.getReliabilityWeight() / Math.max(1, compiled.getVMCount());
+            this.activationScore = new double[hostCount];
+            Integer[] order = new Integer[hostCount];
+            for (int h = 0; h < hostCount; h++) {
+                activationScore[h] = reliabilityShare * compiled.getRel(h)
+                        - parameters.getCostWeight() * compiled.getCost(h) / 1000.0;
+                order[h] = h;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(compiled.getRel(b), compiled.getRel(a)));
+            this.byReliability = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+            Arrays.sort(order, (a, b) -> Double.compare(activationScore[b], activationScore[a]));
+            this.byActivationScore = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+        }
+        
+        /**
+         * Fills targets with the VM's k best feasible targets, best first
+         * @return the number of targets found
+         */
+        int bestTargets(AllocationSolution solution, int vm, int currentHost, int k, int[] targets) {
+            int active = nextTarget(solution, vm, currentHost, byReliability, 0, true);
+            int inactive = nextTarget(solution, vm, currentHost, byActivationScore, 0, false);
+            int added = 0;
+            for (; added < k && (active < byReliability.length || inactive < byActivationScore.length); added++) {
+                boolean takeActive = inactive >= byActivationScore.length
+                        || (active < byReliability.length
+                            && reliabilityShare * compiled.getRel(byReliability[active])
+                               >= activationScore[byActivationScore[inactive]]);
+                if (takeActive) {
+                    targets[added] = byReliability[active];
+                    active = nextTarget(solution, vm, currentHost, byReliability, active + 1, true);
+                } else {
+                    targets[added] = byActivationScore[inactive];
+                    inactive = nextTarget(solution, vm, currentHost, byActivationScore, inactive + 1, false);
+                }
+            }
+            return added;
+        }
+        
+        /**
+         * Fills targets with up to k eligible hosts outside the chain that lack room for
+         * the VM, most reliable first. Such hosts are active: an empty eligible host fits.
+         * @return the number of hosts found
+         */
+        int blockedTargets(AllocationSolution solution, int vm, int[] chainHosts, int length, int k, int[] targets) {
+            int count = 0;
+            for (int position = 0; position < byReliability.length && count < k; position++) {
+                int host = byReliability[position];
+                if (solution.getHostVmCount(host) > 0 && compiled.isEligible(vm, host)
+                        && !inChain(chainHosts, length, host) && !solution.canFit(vm, host)) {
+                    targets[count++] = host;
+                }
+            }
+            return count;
+        }
+        
+        /**
+         * Position of the next feasible target in the order with the given activity
+         */
+        private int nextTarget(AllocationSolution solution, int vm, int currentHost, int[] order,
+                               int from, boolean active) {
+            int position = from;
+            while (position < order.length) {
+                int host = order[position];
+                if (host != currentHost && (solution.getHostVmCount(host) > 0) == active
+                        && compiled.isEligible(vm, host) && isMoveValid(solution, vm, host)) {
+                    break;
+                }
+                position++;
+            }
+            return position;
+        }
+    }
+    
+    /**
+     * Attribute-based tabu memory. tabuUntil[vm * (H + 1) + h] holds the clock value up
+     * to which moving the VM to host h (h = H: unallocating it) is forbidden, so a tabu
+     * check is one array read. The clock ticks once per iteration and keeps running
+     * across starts: clearing the memory only moves the clock past every stored value.
+     * Forbidden attributes are also logged as (index, until) pairs, so checkpoints read
+     * the active entries from the log instead of scanning the whole table.
+     */
+    private static final class TabuMemory {
+        private final int hostCount;
+        private final int stride;
+        private final int[] tabuUntil;
+        private int clock;
+        private int horizon; // largest value stored
+        private int[] forbidden = new int[64]; // (index, until) pairs in forbid order
+        private int forbiddenLength;
+        
+        TabuMemory(int vmCount, int hostCount) {
+            this.hostCount = hostCount;
+            this.stride = hostCount + 1;
+            this.tabuUntil = new int[Math.multiplyExact(vmCount, stride)];
+        }
+        
+        private int index(int vm, int host) {
+            return vm * stride + (host == TabuMove.NONE ? hostCount : host);
+        }
+        
+        boolean isTabu(int vm, int host) {
+            return tabuUntil[index(vm, host)] > clock;
+        }
+        
+        /**
+         * Forbids the attribute for the next tenure iterations
+         */
+        void forbid(int vm, int host, int tenure) {
+            int index = index(vm, host);
+            int until = clock + tenure + 1;
+            if (tabuUntil[index] == until) {
+                return;
+            }
+            tabuUntil[index] = until;
+            horizon = Math.max(horizon, until);
+            
+            if (forbiddenLength == forbidden.length) {
+                compact();
+                if (forbiddenLength > forbidden.length / 2) {
+                    forbidden = Arrays.copyOf(forbidden, forbidden.length * 2);
+                }
+            }
+            forbidden[forbiddenLength++] = index;
+            forbidden[forbiddenLength++] = until;
+        }
+        
+        void tick() {
+            clock++;
+        }
+        
+        void clear() {
+            clock = horizon;
+            forbiddenLength = 0;
+        }
+        
+        /**
+         * Drops logged pairs that expired or were overwritten by a later forbid
+         */
+        private void compact() {
+            int kept = 0;
+            for (int i = 0; i < forbiddenLength; i += 2) {
+                int index = forbidden[i];
+                int until = forbidden[i + 1];
+                if (until > clock && tabuUntil[index] == until) {
+                    forbidden[kept++] = index;
+                    forbidden[kept++] = until;
+                }
+            }
+            forbiddenLength = kept;
+        }
+        
+        /**
+         * Active entries as (vm, host, remaining tenure) triples
+         */
+        int[] activeEntries() {
+            compact();
+            int[] entries = new int[forbiddenLength / 2 * 3];
+            int count = 0;
+            for (int i = 0; i < forbiddenLength; i += 2) {
+                int index = forbidden[i];
+                int host = index % stride;
+                entries[count++] = index / stride;
+                entries[count++] = host == hostCount ? TabuMove.NONE : host;
+                entries[count++] = forbidden[i + 1] - clock - 1;
+            }
+            return entries;
+        }
+    }
     
     /**
      * Parameters for Tabu Search
@@ -330,6 +1393,16 @@ public class TabuSearch {
         private final double costWeight;
         private final double reliabilityWeight;
         private final long randomSeed;
+        private final TerminationCriterion termination;
+        private final int parallelism;
+        private final int tenureRandomization;
+        private final int sampleSize;
+        private final int candidateHosts;
+        private final boolean dontLookBits;
+        private final boolean swapMoves;
+        private final int ejectionChainLength;
+        private final int evacuationCandidates;
+        private final int ejectionCandidates;
         
         public TabuParameters(int maxIterations, int tabuListSize, int diversificationFrequency,
                              int archiveSize, double costWeight, double reliabilityWeight, long randomSeed) {
@@ -340,6 +1413,36 @@ public class TabuSearch {
             this.costWeight = costWeight;
             this.reliabilityWeight = reliabilityWeight;
             this.randomSeed = randomSeed;
+            this.termination = TerminationCriterion.never();
+            this.parallelism = 1;
+            this.tenureRandomization = 0;
+            this.sampleSize = 0;
+            this.candidateHosts = 0;
+            this.dontLookBits = false;
+            this.swapMoves = false;
+            this.ejectionChainLength = 0;
+            this.evacuationCandidates = 0;
+            this.ejectionCandidates = 4;
+        }
+        
+        private TabuParameters(Builder builder) {
+            this.maxIterations = builder.maxIterations;
+            this.tabuListSize = builder.tabuListSize;
+            this.diversificationFrequency = builder.diversificationFrequency;
+            this.archiveSize = builder.archiveSize;
+            this.costWeight = builder.costWeight;
+            this.reliabilityWeight = builder.reliabilityWeight;
+            this.randomSeed = builder.randomSeed;
+            this.termination = builder.termination;
+            this.parallelism = builder.parallelism;
+            this.tenureRandomization = builder.tenureRandomization;
+            this.sampleSize = builder.sampleSize;
+            this.candidateHosts = builder.candidateHosts;
+            this.dontLookBits = builder.dontLookBits;
+            this.swapMoves = builder.swapMoves;
+            this.ejectionChainLength = builder.ejectionChainLength;
+            this.evacuationCandidates = builder.evacuationCandidates;
+            this.ejectionCandidates = builder.ejectionCandidates;
         }
         
         // Getters
@@ -350,47 +1453,245 @@ public class TabuSearch {
         public double getCostWeight() { return costWeight; }
         public double getReliabilityWeight() { return reliabilityWeight; }
         public long getRandomSeed() { return randomSeed; }
+        public TerminationCriterion getTermination() { return termination; }
+        public int getParallelism() { return parallelism; }
+        public int getTenureRandomization() { return tenureRandomization; }
+        public int getSampleSize() { return sampleSize; }
+        public int getCandidateHosts() { return candidateHosts; }
+        public boolean isDontLookBits() { return dontLookBits; }
+        public boolean isSwapMoves() { return swapMoves; }
+        public int getEjectionChainLength() { return ejectionChainLength; }
+        public int getEvacuationCandidates() { return evacuationCandidates; }
+        public int getEjectionCandidates() { return ejectionCandidates; }
+        
+        /**
+         * Builder for tabu parameters; defaults match the hybrid optimizer's settings
+         */
+        public static class Builder {
+            private int maxIterations = 500;
+            private int tabuListSize = 50;
+            private int diversificationFrequency = 50;
+            private int archiveSize = 100;
+            private double costWeight = 0.4;
+            private double reliabilityWeight = 0.6;
+            private long randomSeed = System.currentTimeMillis();
+            private TerminationCriterion termination = TerminationCriterion.never();
+            private int parallelism = 1;
+            private int tenureRandomization = 0;
+            private int sampleSize = 0;
+            private int candidateHosts = 0;
+            private boolean dontLookBits = false;
+            private boolean swapMoves = false;
+            private int ejectionChainLength = 0;
+            private int evacuationCandidates = 0;
+            private int ejectionCandidates = 4;
+            
+            public Builder maxIterations(int maxIterations) {
+                this.maxIterations = maxIterations;
+                return this;
+            }
+            
+            /**
+             * Tabu tenure: iterations during which a VM may not return to the host it left
+             */
+            public Builder tabuListSize(int tabuListSize) {
+                this.tabuListSize = tabuListSize;
+                return this;
+            }
+            
+            public Builder diversificationFrequency(int diversificationFrequency) {
+                this.diversificationFrequency = diversificationFrequency;
+                return this;
+            }
+            
+            public Builder archiveSize(int archiveSize) {
+                this.archiveSize = archiveSize;
+                return this;
+            }
+            
+            public Builder costWeight(double costWeight) {
+                this.costWeight = costWeight;
+                return this;
+            }
+            
+            public Builder reliabilityWeight(double reliabilityWeight) {
+                this.reliabilityWeight = reliabilityWeight;
+                return this;
+            }
+            
+            public Builder randomSeed(long randomSeed) {
+                this.randomSeed = randomSeed;
+                return this;
+            }
+            
+            /**
+             * Criterion for stopping before maxIterations (deadline, budget, stagnation)
+             */
+            public Builder termination(TerminationCriterion termination) {
+                this.termination = termination;
+                return this;
+            }
+            
+            /**
+             * Each tenure is extended by a uniform random number of iterations in [0, range]
+             */
+            public Builder tenureRandomization(int range) {
+                this.tenureRandomization = range;
+                return this;
+            }
+            
+            /**
+             * Number of random VMs whose moves form each neighborhood (0 = every VM)
+             */
+            public Builder sampleSize(int sampleSize) {
+                this.sampleSize = sampleSize;
+                return this;
+            }
+            
+            /**
+             * Number of best-scoring feasible target hosts kept per VM (0 = every eligible host)
+             */
+            public Builder candidateHosts(int candidateHosts) {
+                this.candidateHosts = candidateHosts;
+                return this;
+            }
+            
+            /**
+             * Skips VMs that had no improving move until a move touches their host or
+             * frees room they fit in
+             */
+            public Builder dontLookBits(boolean dontLookBits) {
+                this.dontLookBits = dontLookBits;
+                return this;
+            }
+            
+            /**
+             * Adds moves exchanging two VMs between their hosts
+             */
+            public Builder swapMoves(boolean swapMoves) {
+                this.swapMoves = swapMoves;
+                return this;
+            }
+            
+            /**
+             * Maximum number of relocations in an ejection chain (0 or 1 = no chains)
+             */
+            public Builder ejectionChainLength(int ejectionChainLength) {
+                this.ejectionChainLength = ejectionChainLength;
+                return this;
+            }
+            
+            /**
+             * Maximum number of VMs of each full host tried for ejection by swaps and chains
+             */
+            public Builder ejectionCandidates(int ejectionCandidates) {
+                this.ejectionCandidates = ejectionCandidates;
+                return this;
+            }
+            
+            /**
+             * Number of least loaded active hosts whose evacuation onto the other active
+             * hosts is tried each iteration (0 = none)
+             */
+            public Builder evacuationCandidates(int evacuationCandidates) {
+                this.evacuationCandidates = evacuationCandidates;
+                return this;
+            }
+            
+            /**
+             * Number of worker threads searching start solutions concurrently (1 = sequential)
+             */
+            public Builder parallelism(int parallelism) {
+                this.parallelism = parallelism;
+                return this;
+            }
+            
+            public TabuParameters build() {
+                if (maxIterations <= 0) {
+                    throw new IllegalArgumentException("Max iterations must be positive");
+                }
+                if (tabuListSize <= 0) {
+                    throw new IllegalArgumentException("Tabu list size must be positive");
+                }
+                if (diversificationFrequency <= 0) {
+                    throw new IllegalArgumentException("Diversification frequency must be positive");
+                }
+                if (archiveSize <= 0) {
+                    throw new IllegalArgumentException("Archive size must be positive");
+                }
+                if (termination == null) {
+                    throw new IllegalArgumentException("Termination criterion must not be null");
+                }
+                if (parallelism <= 0) {
+                    throw new IllegalArgumentException("Parallelism must be positive");
+                }
+                if (tenureRandomization < 0) {
+                    throw new IllegalArgumentException("Tenure randomization must not be negative");
+                }
+                if (sampleSize < 0) {
+                    throw new IllegalArgumentException("Sample size must not be negative");
+                }
+                if (candidateHosts < 0) {
+                    throw new IllegalArgumentException("Candidate host count must not be negative");
+                }
+                if (ejectionChainLength < 0) {
+                    throw new IllegalArgumentException("Ejection chain length must not be negative");
+                }
+                if (ejectionCandidates <= 0) {
+                    throw new IllegalArgumentException("Ejection candidate count must be positive");
+                }
+                if (evacuationCandidates < 0) {
+                    throw new IllegalArgumentException("Evacuation candidate count must not be negative");
+                }
+                return new TabuParameters(this);
+            }
+        }
     }
     
     /**
-     * Represents a move in the search space
+     * Represents a move in the search space, over dense VM/host indices. Swaps and
+     * ejection chains and host evacuations link further relocations through next; they
+     * are applied together.
      */
     private static class TabuMove {
-        private final VM vm;
-        private final Host fromHost;
-        private final Host toHost;
+        static final int NONE = -1; // unallocated
+        
+        private final int vm;
+        private final int fromHost;
+        private final int toHost;
+        private final TabuMove next;
+        
+        public TabuMove(int vm, int fromHost, int toHost) {
+            this(vm, fromHost, toHost, null);
+        }
         
-        public TabuMove(VM vm, Host fromHost, Host toHost) {
+        public TabuMove(int vm, int fromHost, int toHost, TabuMove next) {
             this.vm = vm;
             this.fromHost = fromHost;
             this.toHost = toHost;
+            this.next = next;
         }
         
-        public VM getVm() { return vm; }
-        public Host getFromHost() { return fromHost; }
-        public Host getToHost() { return toHost; }
+        public int getVm() { return vm; }
+        public int getFromHost() { return fromHost; }
+        public int getToHost() { return toHost; }
+        public TabuMove getNext() { return next; }
         
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) return true;
-            if (obj == null || getClass() != obj.getClass()) return false;
-            TabuMove tabuMove = (TabuMove) obj;
-            return Objects.equals(vm, tabuMove.vm) &&
-                   Objects.equals(fromHost, tabuMove.fromHost) &&
-                   Objects.equals(toHost, tabuMove.toHost);
-        }
-        
-        @Override
-        public int hashCode() {
-            return Objects.hash(vm, fromHost, toHost);
+        public int size() {
+            int size = 1;
+            for (TabuMove step = next; step != null; step = step.next) {
+                size++;
+            }
+            return size;
         }
         
         @Override
         public String toString() {
-            return String.format("Move VM%d from Host%s to Host%s", 
-                               vm.getVmId(), 
-                               fromHost != null ? fromHost.getHostId() : "null",
-                               toHost != null ? toHost.getHostId() : "null");
+            String move = String.format("Move VM#%d from Host#%s to Host#%s", 
+                               vm,
+                               fromHost != NONE ? fromHost : "null",
+                               toHost != NONE ? toHost : "null");
+            return next != null ? move + ", " + next : move;
         }
     }
-} 
\ No newline at end of file
+}
@@ -10,9 +10,14 @@ import java.util.*;
  */
 public class BRKGADecoder {
     private final ProblemInstance instance;
-    private final List<VM> vms;
-    private final List<Host> hosts;
+    private final CompiledInstance compiled;
+    private final int vmCount;
+    private final int hostCount;
+    private final AllocationSolution emptySolution; // modelo cujas cópias compartilham os índices
     private final Random random;
+    private final ThreadLocal<Workspace> workspaces;
+    
+    private static final int INSERTION_SORT_RUN = 16;
     
     // Estratégias de decodificação
     public enum DecodingStrategy {
@@ -22,14 +27,33 @@ public class BRKGADecoder {
         FIRST_FIT           // Primeira posição disponível
     }
     
+    // Codificações do cromossomo
+    public enum Encoding {
+        FULL,    // |VMs| + |VMs|*|Hosts| chaves: uma preferência por par VM-host
+        COMPACT  // 2*|VMs| chaves: a segunda chave da VM escolhe a posição inicial no ranking global de hosts
+    }
+    
     private final DecodingStrategy strategy;
+    private final Encoding encoding;
+    private final int[] hostRanking; // hosts em ordem decrescente de score da estratégia (COMPACT)
+    private final int[] hostRankPosition; // inversa de hostRanking, usada pelo codificador
     
     public BRKGADecoder(ProblemInstance instance, DecodingStrategy strategy) {
+        this(instance, strategy, Encoding.FULL);
+    }
+    
+    public BRKGADecoder(ProblemInstance instance, DecodingStrategy strategy, Encoding encoding) {
         this.instance = instance;
-        this.vms = instance.getVMs();
-        this.hosts = instance.getHosts();
+        this.compiled = instance.compile();
+        this.vmCount = compiled.getVMCount();
+        this.hostCount = compiled.getHostCount();
         this.strategy = strategy;
+        this.encoding = encoding;
+        this.hostRanking = encoding == Encoding.COMPACT ? rankHosts() : null;
+        this.hostRankPosition = hostRanking != null ? invert(hostRanking) : null;
+        this.emptySolution = new AllocationSolution(compiled);
         this.random = new Random();
+        this.workspaces = ThreadLocal.withInitial(() -> new Workspace(vmCount));
     }
     
     /**
@@ -37,29 +61,38 @@ public class BRKGADecoder {
      * 
      * Encoding: 
      * - Primeiras |VMs| chaves: ordem de alocação das VMs
-     * - Próximas |VMs|*|Hosts| chaves: preferências de alocação VM-Host
+     * - FULL: próximas |VMs|*|Hosts| chaves: preferências de alocação VM-Host
+     * - COMPACT: próximas |VMs| chaves: posição inicial da VM no ranking global de hosts
      */
     public AllocationSolution decode(double[] keys) {
-        if (keys.length < vms.size() + vms.size() * hosts.size()) {
+        return decode(keys, 0);
+    }
+    
+    /**
+     * Decodifica o vetor de chaves que começa em offset, p.ex. uma linha da matriz
+     * de chaves da população, sem copiá-lo
+     */
+    public AllocationSolution decode(double[] keys, int offset) {
+        if (offset < 0 || keys.length - offset < getRequiredKeyCount()) {
             throw new IllegalArgumentException("Insufficient keys for decoding");
         }
         
-        AllocationSolution solution = new AllocationSolution(vms, hosts);
+        AllocationSolution solution = new AllocationSolution(emptySolution);
         
-        // Cria lista de VMs ordenada pelas primeiras chaves
-        List<VMOrder> vmOrder = new ArrayList<>();
-        for (int i = 0; i < vms.size(); i++) {
-            vmOrder.add(new VMOrder(vms.get(i), keys[i]));
-        }
-        vmOrder.sort(Comparator.comparingDouble(vo -> vo.key));
+        // Ordena os índices das VMs pelas primeiras chaves, sem criar objetos
+        Workspace workspace = workspaces.get();
+        int[] vmOrder = workspace.order;
+        argsort(keys, offset, vmOrder, workspace.buffer);
         
         // Aloca VMs em ordem
-        for (VMOrder vmOrd : vmOrder) {
-            VM vm = vmOrd.vm;
-            Host selectedHost = selectHostForVM(vm, keys, solution);
+        for (int i = 0; i < vmCount; i++) {
+            int vmIndex = vmOrder[i];
+            int selectedHost = encoding == Encoding.COMPACT
+                    ? selectRankedHostForVM(vmIndex, keys[offset + vmCount + vmIndex], solution)
+                    : selectHostForVM(vmIndex, keys, offset, solution);
             
-            if (selectedHost != null) {
-                solution.allocateVM(vm, selectedHost);
+            if (selectedHost >= 0) {
+                solution.allocate(vmIndex, selectedHost);
             }
             // Se não conseguir alocar, VM fica sem alocação (penalização no fitness)
         }
@@ -68,51 +101,131 @@ public class BRKGADecoder {
     }
     
     /**
-     * Seleciona o melhor host para uma VM baseado nas chaves e estratégia
+     * Seleciona o melhor host para uma VM baseado nas chaves e estratégia.
+     * Considera apenas os hosts estaticamente elegíveis para a VM.
+     * Varredura única pelo maior score; em empate prevalece o host de menor índice.
      */
-    private Host selectHostForVM(VM vm, double[] keys, AllocationSolution currentSolution) {
+    private int selectHostForVM(int vmIndex, double[] keys, int offset, AllocationSolution currentSolution) {
         // Calcula índice base das preferências para esta VM
-        int vmIndex = vms.indexOf(vm);
-        int prefBase = vms.size() + vmIndex * hosts.size();
-        
-        // Cria lista de hosts com suas preferências
-        List<HostPreference> hostPrefs = new ArrayList<>();
-        for (int i = 0; i < hosts.size(); i++) {
-            Host host = hosts.get(i);
-            double preference = keys[prefBase + i];
-            
-            // Verifica se o host pode alocar a VM
-            if (host.canFit(vm, currentSolution.getVmToHost())) {
-                double score = calculateHostScore(vm, host, preference, currentSolution);
-                hostPrefs.add(new HostPreference(host, preference, score));
+        int prefBase = offset + vmCount + vmIndex * hostCount;
+        
+        int bestHost = -1; // -1: nenhum host pode alocar a VM
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = compiled.nextEligibleHost(vmIndex, 0); i >= 0; i = compiled.nextEligibleHost(vmIndex, i + 1)) {
+            // Verifica se o host ainda pode alocar a VM
+            if (currentSolution.canFit(vmIndex, i)) {
+                double score = calculateHostScore(i, keys[prefBase + i]);
+                if (bestHost < 0 || score > bestScore) {
+                    bestHost = i;
+                    bestScore = score;
+                }
             }
         }
         
-        if (hostPrefs.isEmpty()) {
-            return null; // Nenhum host pode alocar a VM
+        return bestHost;
+    }
+    
+    /**
+     * Codificação compacta: percorre o ranking global de hosts, de forma circular, a
+     * partir da posição indicada pela chave e retorna o primeiro host elegível que
+     * comporta a VM, ou -1
+     */
+    private int selectRankedHostForVM(int vmIndex, double key, AllocationSolution currentSolution) {
+        if (compiled.getEligibleHostCount(vmIndex) == 0) {
+            return -1;
+        }
+        int start = Math.min((int) (key * hostCount), hostCount - 1);
+        for (int i = 0; i < hostCount; i++) {
+            int position = start + i;
+            int host = hostRanking[position < hostCount ? position : position - hostCount];
+            if (compiled.isEligible(vmIndex, host) && currentSolution.canFit(vmIndex, host)) {
+                return host;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Ranking global dos hosts pelo score da estratégia sem preferência;
+     * em empate prevalece o host de menor índice
+     */
+    private int[] rankHosts() {
+        Integer[] hosts = new Integer[hostCount];
+        for (int h = 0; h < hostCount; h++) {
+            hosts[h] = h;
+        }
+        Arrays.sort(hosts, Comparator.comparingDouble((Integer h) -> -calculateHostScore(h, 0.0)));
+        int[] ranking = new int[hostCount];
+        for (int h = 0; h < hostCount; h++) {
+            ranking[h] = hosts[h];
+        }
+        return ranking;
+    }
+    
+    /**
+     * Ordena (de forma estável) os índices 0..|VMs|-1 pelas chaves correspondentes.
+     * Merge sort bottom-up sobre arrays primitivos, com inserção em blocos pequenos.
+     */
+    private void argsort(double[] keys, int offset, int[] order, int[] buffer) {
+        int n = vmCount;
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
         }
         
-        // Ordena hosts por score (dependendo da estratégia)
-        hostPrefs.sort(Comparator.comparingDouble(hp -> -hp.score));
+        for (int lo = 0; lo < n; lo += INSERTION_SORT_RUN) {
+            int hi = Math.min(lo + INSERTION_SORT_RUN, n);
+            for (int i = lo + 1; i < hi; i++) {
+                int current = order[i];
+                double key = keys[offset + current];
+                int j = i - 1;
+                while (j >= lo && keys[offset + order[j]] > key) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = current;
+            }
+        }
         
-        // Retorna o host com melhor score
-        return hostPrefs.get(0).host;
+        int[] src = order;
+        int[] dst = buffer;
+        for (int width = INSERTION_SORT_RUN; width < n; width <<= 1) {
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + 2 * width, n);
+                int left = lo;
+                int right = mid;
+                for (int k = lo; k < hi; k++) {
+                    if (left < mid && (right >= hi || keys[offset + src[left]] <= keys[offset + src[right]])) {
+                        dst[k] = src[left++];
+                    } else {
+                        dst[k] = src[right++];
+                    }
+                }
+            }
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        
+        if (src != order) {
+            System.arraycopy(src, 0, order, 0, n);
+        }
     }
     
     /**
      * Calcula o score de um host para uma VM baseado na estratégia
      */
-    private double calculateHostScore(VM vm, Host host, double preference, AllocationSolution solution) {
+    private double calculateHostScore(int hostIndex, double preference) {
         switch (strategy) {
             case GREEDY_COST:
-                return preference + (1.0 / (1.0 + host.getCost()));
+                return preference + (1.0 / (1.0 + compiled.getCost(hostIndex)));
                 
             case GREEDY_RELIABILITY:
-                return preference + host.getRel();
+                return preference + compiled.getRel(hostIndex);
                 
             case BALANCED:
-                double costNorm = 1.0 / (1.0 + host.getCost());
-                double reliability = host.getRel();
+                double costNorm = 1.0 / (1.0 + compiled.getCost(hostIndex));
+                double reliability = compiled.getRel(hostIndex);
                 return preference + 0.5 * costNorm + 0.5 * reliability;
                 
             case FIRST_FIT:
@@ -129,9 +242,9 @@ public class BRKGADecoder {
         
         // Tenta realocar VMs não alocadas
         List<VM> unallocatedVMs = new ArrayList<>();
-        for (VM vm : vms) {
-            if (repairedSolution.getHostForVM(vm) == null) {
-                unallocatedVMs.add(vm);
+        for (int v = 0; v < vmCount; v++) {
+            if (repairedSolution.getHostIndexForVM(v) < 0) {
+                unallocatedVMs.add(compiled.getVM(v));
             }
         }
         
@@ -139,39 +252,78 @@ public class BRKGADecoder {
         unallocatedVMs.sort(Comparator.comparingDouble(VM::getPrio).reversed());
         
         for (VM vm : unallocatedVMs) {
-            Host bestHost = findBestAvailableHost(vm, repairedSolution);
-            if (bestHost != null) {
-                repairedSolution.allocateVM(vm, bestHost);
+            int vmIndex = compiled.indexOf(vm);
+            int bestHost = findBestAvailableHost(vmIndex, repairedSolution);
+            if (bestHost >= 0) {
+                repairedSolution.allocate(vmIndex, bestHost);
             }
         }
         
         return repairedSolution;
     }
     
-    private Host findBestAvailableHost(VM vm, AllocationSolution solution) {
-        List<Host> availableHosts = new ArrayList<>();
-        
-        for (Host host : hosts) {
-            if (host.canFit(vm, solution.getVmToHost())) {
-                availableHosts.add(host);
+    /**
+     * Retorna o host elegível de menor custo dentre os que comportam a VM, ou -1
+     */
+    private int findBestAvailableHost(int vmIndex, AllocationSolution solution) {
+        int best = -1;
+        for (int h = compiled.nextEligibleHost(vmIndex, 0); h >= 0; h = compiled.nextEligibleHost(vmIndex, h + 1)) {
+            if (solution.canFit(vmIndex, h) && (best < 0 || compiled.getCost(h) < compiled.getCost(best))) {
+                best = h;
             }
         }
+        return best;
+    }
+    
+    /**
+     * Codificador: produz um vetor de chaves que este decodificador transforma na mesma
+     * alocação da solução informada (expressa sobre esta instância pelos ids).
+     *
+     * As VMs alocadas são ordenadas antes das não alocadas e cada uma recebe a chave
+     * que leva ao seu host. A reprodução é exata quando a alocação respeita as capacidades
+     * e cada VM está em um host elegível; VMs não alocadas podem acabar alocadas se
+     * houver espaço. Compare os fingerprints para verificar.
+     */
+    public double[] encode(AllocationSolution solution) {
+        AllocationSolution placement = solution.rebase(compiled);
+        double[] keys = new double[getRequiredKeyCount()];
         
-        if (availableHosts.isEmpty()) {
-            return null;
+        for (int v = 0; v < vmCount; v++) {
+            int host = placement.getHostIndexForVM(v);
+            
+            // Ordem: alocadas em [0, 0.5), não alocadas em [0.5, 1), pelo índice
+            double orderKey = 0.5 * (v + 0.5) / vmCount;
+            keys[v] = host >= 0 ? orderKey : 0.5 + orderKey;
+            
+            if (host < 0) {
+                continue;
+            }
+            if (encoding == Encoding.COMPACT) {
+                // Começa a varredura exatamente na posição do host no ranking
+                keys[vmCount + v] = (hostRankPosition[host] + 0.5) / hostCount;
+            } else {
+                // Preferência máxima para o host; os demais ficam com 0 e o bônus da
+                // estratégia (no máximo 1) não supera a diferença
+                keys[vmCount + v * hostCount + host] = Math.nextDown(1.0);
+            }
         }
         
-        // Retorna o host com menor custo dentre os disponíveis
-        return availableHosts.stream()
-                .min(Comparator.comparingDouble(Host::getCost))
-                .orElse(null);
+        return keys;
+    }
+    
+    private static int[] invert(int[] permutation) {
+        int[] inverse = new int[permutation.length];
+        for (int i = 0; i < permutation.length; i++) {
+            inverse[permutation[i]] = i;
+        }
+        return inverse;
     }
     
     /**
      * Gera um vetor de chaves aleatórias válido
      */
     public double[] generateRandomKeys() {
-        int keyCount = vms.size() + vms.size() * hosts.size();
+        int keyCount = getRequiredKeyCount();
         double[] keys = new double[keyCount];
         
         for (int i = 0; i < keyCount; i++) {
@@ -185,38 +337,30 @@ public class BRKGADecoder {
      * Calcula o número de chaves necessárias para a codificação
      */
     public int getRequiredKeyCount() {
-        return vms.size() + vms.size() * hosts.size();
+        if (encoding == Encoding.COMPACT) {
+            return 2 * vmCount;
+        }
+        return vmCount + vmCount * hostCount;
     }
     
     public DecodingStrategy getStrategy() {
         return strategy;
     }
     
-    /**
-     * Classe auxiliar para ordenação de VMs
-     */
-    private static class VMOrder {
-        final VM vm;
-        final double key;
-        
-        VMOrder(VM vm, double key) {
-            this.vm = vm;
-            this.key = key;
-        }
+    public Encoding getEncoding() {
+        return encoding;
     }
     
     /**
-     * Classe auxiliar para preferências de hosts
+     * Buffers de trabalho reutilizados por thread durante a decodificação
      */
-    private static class HostPreference {
-        final Host host;
-        final double preference;
-        final double score;
+    private static class Workspace {
+        final int[] order;
+        final int[] buffer;
         
-        HostPreference(Host host, double preference, double score) {
-            this.host = host;
-            this.preference = preference;
-            this.score = score;
+        Workspace(int vmCount) {
+            this.order = new int[vmCount];
+            this.buffer = new int[vmCount];
         }
     }
-} 
\ No newline at end of file
+}
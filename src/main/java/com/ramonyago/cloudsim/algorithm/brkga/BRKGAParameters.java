@@ -1,5 +1,7 @@
 package com.ramonyago.cloudsim.algorithm.brkga;
 
+import com.ramonyago.cloudsim.algorithm.termination.TerminationCriterion;
+
 /**
  * Parâmetros para o algoritmo BRKGA Multi-objetivo.
  */
@@ -12,6 +14,16 @@ public class BRKGAParameters {
     private final long randomSeed;
     private final int archiveSize;
     private final boolean useNSGA2Selection;
+    private final int parallelism; // threads usadas na avaliação da população
+    private final BRKGADecoder.Encoding encoding;
+    private final boolean steadyState; // evolução assíncrona em regime permanente
+    
+    // Ponto de referência do hipervolume; NaN = derivado da instância
+    private final double hypervolumeReferenceCost;
+    private final double hypervolumeReferenceReliability;
+    
+    // Critério de parada antecipada, verificado a cada geração
+    private final TerminationCriterion termination;
     
     public BRKGAParameters(Builder builder) {
         this.populationSize = builder.populationSize;
@@ -22,6 +34,12 @@ public class BRKGAParameters {
         this.randomSeed = builder.randomSeed;
         this.archiveSize = builder.archiveSize;
         this.useNSGA2Selection = builder.useNSGA2Selection;
+        this.parallelism = builder.parallelism;
+        this.encoding = builder.encoding;
+        this.steadyState = builder.steadyState;
+        this.hypervolumeReferenceCost = builder.hypervolumeReferenceCost;
+        this.hypervolumeReferenceReliability = builder.hypervolumeReferenceReliability;
+        this.termination = builder.termination;
         
         validateParameters();
     }
@@ -48,6 +66,18 @@ public class BRKGAParameters {
         if (archiveSize <= 0) {
             throw new IllegalArgumentException("Archive size must be positive");
         }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        if (encoding == null) {
+            throw new IllegalArgumentException("Encoding must not be null");
+        }
+        if (Double.isNaN(hypervolumeReferenceCost) != Double.isNaN(hypervolumeReferenceReliability)) {
+            throw new IllegalArgumentException("Hypervolume reference point must be fully specified");
+        }
+        if (termination == null) {
+            throw new IllegalArgumentException("Termination criterion must not be null");
+        }
     }
     
     public int getPopulationSize() {
@@ -82,6 +112,37 @@ public class BRKGAParameters {
         return useNSGA2Selection;
     }
     
+    public int getParallelism() {
+        return parallelism;
+    }
+    
+    public BRKGADecoder.Encoding getEncoding() {
+        return encoding;
+    }
+    
+    public boolean isSteadyState() {
+        return steadyState;
+    }
+    
+    public double getHypervolumeReferenceCost() {
+        return hypervolumeReferenceCost;
+    }
+    
+    public double getHypervolumeReferenceReliability() {
+        return hypervolumeReferenceReliability;
+    }
+    
+    /**
+     * Indica se o ponto de referência do hipervolume foi configurado explicitamente
+     */
+    public boolean hasHypervolumeReference() {
+        return !Double.isNaN(hypervolumeReferenceCost);
+    }
+    
+    public TerminationCriterion getTermination() {
+        return termination;
+    }
+    
     public int getEliteSize() {
         return (int) Math.ceil(populationSize * eliteRatio);
     }
@@ -105,9 +166,10 @@ public class BRKGAParameters {
     public String toString() {
         return String.format("BRKGAParameters{" +
                            "popSize=%d, maxGen=%d, elite=%.2f, mutant=%.2f, " +
-                           "inheritance=%.2f, archiveSize=%d, NSGA2=%s}",
+                           "inheritance=%.2f, archiveSize=%d, NSGA2=%s, parallelism=%d, encoding=%s, steadyState=%s}",
                            populationSize, maxGenerations, eliteRatio, mutantRatio,
-                           inheritanceProbability, archiveSize, useNSGA2Selection);
+                           inheritanceProbability, archiveSize, useNSGA2Selection, parallelism, encoding,
+                           steadyState);
     }
     
     /**
@@ -122,6 +184,35 @@ public class BRKGAParameters {
         private long randomSeed = System.currentTimeMillis();
         private int archiveSize = 100;
         private boolean useNSGA2Selection = true;
+        private int parallelism = 1;
+        private BRKGADecoder.Encoding encoding = BRKGADecoder.Encoding.FULL;
+        private boolean steadyState = false;
+        private double hypervolumeReferenceCost = Double.NaN;
+        private double hypervolumeReferenceReliability = Double.NaN;
+        private TerminationCriterion termination = TerminationCriterion.never();
+        
+        public Builder() {
+        }
+        
+        /**
+         * Inicia o builder com os valores de parâmetros existentes
+         */
+        public Builder(BRKGAParameters base) {
+            this.populationSize = base.populationSize;
+            this.maxGenerations = base.maxGenerations;
+            this.eliteRatio = base.eliteRatio;
+            this.mutantRatio = base.mutantRatio;
+            this.inheritanceProbability = base.inheritanceProbability;
+            this.randomSeed = base.randomSeed;
+            this.archiveSize = base.archiveSize;
+            this.useNSGA2Selection = base.useNSGA2Selection;
+            this.parallelism = base.parallelism;
+            this.encoding = base.encoding;
+            this.steadyState = base.steadyState;
+            this.hypervolumeReferenceCost = base.hypervolumeReferenceCost;
+            this.hypervolumeReferenceReliability = base.hypervolumeReferenceReliability;
+            this.termination = base.termination;
+        }
         
         public Builder populationSize(int populationSize) {
             this.populationSize = populationSize;
@@ -163,6 +254,53 @@ public class BRKGAParameters {
             return this;
         }
         
+        /**
+         * Número de threads usadas para decodificar a população (1 = sequencial).
+         * O resultado não depende deste valor para uma mesma semente.
+         */
+        public Builder parallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+        
+        /**
+         * Codificação do cromossomo; COMPACT usa 2*|VMs| chaves em vez de |VMs|*(|Hosts|+1)
+         */
+        public Builder encoding(BRKGADecoder.Encoding encoding) {
+            this.encoding = encoding;
+            return this;
+        }
+        
+        /**
+         * Evolução em regime permanente: parallelism workers geram e decodificam filhos
+         * continuamente, e cada filho substitui o pior indivíduo assim que fica pronto,
+         * sem barreira por geração. Uma "geração" passa a contar populationSize - elite
+         * filhos. Com mais de um worker o resultado depende do escalonamento das threads.
+         * Vale para {@link MOBRKGA#run()}; o {@link IslandModel} avança as ilhas por gerações.
+         */
+        public Builder steadyState(boolean steadyState) {
+            this.steadyState = steadyState;
+            return this;
+        }
+        
+        /**
+         * Ponto de referência (pior custo, pior confiabilidade) do hipervolume. Se não
+         * informado, usa o custo com todos os hosts ativos e confiabilidade 0.
+         */
+        public Builder hypervolumeReference(double cost, double reliability) {
+            this.hypervolumeReferenceCost = cost;
+            this.hypervolumeReferenceReliability = reliability;
+            return this;
+        }
+        
+        /**
+         * Critério para encerrar antes de maxGenerations (prazo, orçamento, estagnação)
+         */
+        public Builder termination(TerminationCriterion termination) {
+            this.termination = termination;
+            return this;
+        }
+        
         public BRKGAParameters build() {
             return new BRKGAParameters(this);
         }
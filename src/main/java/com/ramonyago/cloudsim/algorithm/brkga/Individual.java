@@ -8,31 +8,62 @@ import java.util.Random;
 /**
  * Representa um indivíduo no algoritmo BRKGA com vetor de chaves aleatórias
  * e solução decodificada correspondente.
+ *
+ * As chaves ocupam o intervalo [offset, offset + keyCount) de um buffer. Um indivíduo
+ * criado pelos construtores públicos tem buffer próprio; os indivíduos da população
+ * do {@link MOBRKGA} são apenas referências a uma linha da matriz de chaves compartilhada.
  */
 public class Individual implements Comparable<Individual> {
     private final double[] keys;
+    private final int offset;
+    private final int keyCount;
     private AllocationSolution solution;
     private boolean evaluated;
     private int dominationRank;
     private double crowdingDistance;
     
     public Individual(int keyCount) {
-        this.keys = new double[keyCount];
+        this(new double[keyCount], 0, keyCount);
+    }
+    
+    /**
+     * Cria uma referência para a linha da matriz de chaves que começa em offset
+     */
+    Individual(double[] buffer, int offset, int keyCount) {
+        this.keys = buffer;
+        this.offset = offset;
+        this.keyCount = keyCount;
         this.evaluated = false;
         this.dominationRank = 0;
         this.crowdingDistance = 0.0;
     }
     
     public Individual(double[] keys) {
-        this.keys = Arrays.copyOf(keys, keys.length);
-        this.evaluated = false;
-        this.dominationRank = 0;
-        this.crowdingDistance = 0.0;
+        this(Arrays.copyOf(keys, keys.length), 0, keys.length);
     }
     
+    /**
+     * Cópia com buffer próprio. A solução decodificada não é mais alterada após a
+     * avaliação, portanto é compartilhada em vez de copiada.
+     */
     public Individual(Individual other) {
-        this.keys = Arrays.copyOf(other.keys, other.keys.length);
-        this.solution = other.solution != null ? new AllocationSolution(other.solution) : null;
+        this(Arrays.copyOfRange(other.keys, other.offset, other.offset + other.keyCount), 0, other.keyCount);
+        copyStateFrom(other);
+    }
+    
+    /**
+     * Cria uma referência para a linha de destino contendo uma cópia das chaves e
+     * do estado de avaliação de other
+     */
+    static Individual copyInto(Individual other, double[] buffer, int offset) {
+        System.arraycopy(other.keys, other.offset, buffer, offset, other.keyCount);
+        Individual copy = new Individual(buffer, offset, other.keyCount);
+        copy.copyStateFrom(other);
+        return copy;
+    }
+    
+    private void copyStateFrom(Individual other) {
+        this.solution = other.solution;
         this.evaluated = other.evaluated;
         this.dominationRank = other.dominationRank;
         this.crowdingDistance = other.crowdingDistance;
@@ -42,7 +73,7 @@ public class Individual implements Comparable<Individual> {
      * Inicializa o indivíduo com chaves aleatórias
      */
     public void randomize(Random random) {
-        for (int i = 0; i < keys.length; i++) {
+        for (int i = offset; i < offset + keyCount; i++) {
             keys[i] = random.nextDouble();
         }
         invalidate();
@@ -53,34 +84,53 @@ public class Individual implements Comparable<Individual> {
      */
     public static Individual crossover(Individual elite, Individual nonElite, 
                                      double inheritanceProbability, Random random) {
-        Individual offspring = new Individual(elite.keys.length);
-        
-        for (int i = 0; i < offspring.keys.length; i++) {
+        Individual offspring = new Individual(elite.keyCount);
+        crossoverInto(elite, nonElite, inheritanceProbability, random, offspring);
+        return offspring;
+    }
+    
+    /**
+     * Crossover parametrizado escrevendo as chaves diretamente em offspring
+     */
+    static void crossoverInto(Individual elite, Individual nonElite, double inheritanceProbability,
+                              Random random, Individual offspring) {
+        for (int i = 0; i < offspring.keyCount; i++) {
             if (random.nextDouble() < inheritanceProbability) {
-                offspring.keys[i] = elite.keys[i];
+                offspring.keys[offspring.offset + i] = elite.keys[elite.offset + i];
             } else {
-                offspring.keys[i] = nonElite.keys[i];
+                offspring.keys[offspring.offset + i] = nonElite.keys[nonElite.offset + i];
             }
         }
-        
-        return offspring;
+        offspring.invalidate();
     }
     
     public double[] getKeys() {
-        return Arrays.copyOf(keys, keys.length);
+        return Arrays.copyOfRange(keys, offset, offset + keyCount);
+    }
+    
+    /**
+     * Buffer que contém as chaves, sem cópia, para a decodificação.
+     * As chaves começam em {@link #keyOffset()}; não deve ser modificado pelo chamador.
+     */
+    double[] keyBuffer() {
+        return keys;
+    }
+    
+    int keyOffset() {
+        return offset;
     }
     
     public double getKey(int index) {
-        return keys[index];
+        return keys[offset + index];
     }
     
     public void setKey(int index, double value) {
-        keys[index] = Math.max(0.0, Math.min(1.0, value)); // Clamp to [0,1]
+        keys[offset + index] = Math.max(0.0, Math.min(1.0, value)); // Clamp to [0,1]
         invalidate();
     }
     
     public int getKeyCount() {
-        return keys.length;
+        return keyCount;
     }
     
     public AllocationSolution getSolution() {
@@ -167,13 +217,13 @@ public class Individual implements Comparable<Individual> {
      * Calcula a distância Euclidiana entre os vetores de chaves
      */
     public double distanceTo(Individual other) {
-        if (this.keys.length != other.keys.length) {
+        if (this.keyCount != other.keyCount) {
             throw new IllegalArgumentException("Individuals must have same key count");
         }
         
         double sum = 0.0;
-        for (int i = 0; i < keys.length; i++) {
-            double diff = this.keys[i] - other.keys[i];
+        for (int i = 0; i < keyCount; i++) {
+            double diff = this.keys[this.offset + i] - other.keys[other.offset + i];
             sum += diff * diff;
         }
         return Math.sqrt(sum);
@@ -184,7 +234,7 @@ public class Individual implements Comparable<Individual> {
      */
     public void mutateKey(int index, double sigma, Random random) {
         double noise = random.nextGaussian() * sigma;
-        setKey(index, keys[index] + noise);
+        setKey(index, keys[offset + index] + noise);
     }
     
     /**
@@ -199,12 +249,18 @@ public class Individual implements Comparable<Individual> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Individual that = (Individual) o;
-        return Arrays.equals(keys, that.keys);
+        return Arrays.equals(keys, offset, offset + keyCount,
+                             that.keys, that.offset, that.offset + that.keyCount);
     }
     
     @Override
     public int hashCode() {
-        return Arrays.hashCode(keys);
+        int result = 1;
+        for (int i = offset; i < offset + keyCount; i++) {
+            long bits = Double.doubleToLongBits(keys[i]);
+            result = 31 * result + (int) (bits ^ (bits >>> 32));
+        }
+        return result;
     }
     
     @Override
@@ -215,7 +271,7 @@ public class Individual implements Comparable<Individual> {
                                solution.getTotalCost(), solution.getTotalReliability());
         } else {
             return String.format("Individual{keys=%s, unevaluated}", 
-                               Arrays.toString(Arrays.copyOf(keys, Math.min(5, keys.length))));
+                               Arrays.toString(Arrays.copyOfRange(keys, offset, offset + Math.min(5, keyCount))));
         }
     }
 } 
\ No newline at end of file
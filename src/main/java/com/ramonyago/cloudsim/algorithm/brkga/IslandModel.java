@@ -0,0 +1,276 @@
+package com.ramonyago.cloudsim.algorithm.brkga;
+
+import com.ramonyago.cloudsim.model.AllocationSolution;
+import com.ramonyago.cloudsim.model.ProblemInstance;
+import com.ramonyago.cloudsim.util.ParetoArchive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Modelo de ilhas para o MOBRKGA: K populações independentes evoluem em threads
+ * separadas, cada uma com sua semente e estratégia de decodificação. A cada
+ * intervalo de migração as ilhas param em uma barreira, trocam indivíduos de elite
+ * segundo a topologia configurada e enviam suas soluções ao arquivo compartilhado.
+ *
+ * Como as trocas e a atualização do arquivo ocorrem na barreira, em ordem fixa de
+ * ilhas, o resultado é reprodutível para uma mesma semente (salvo critérios de parada
+ * por tempo). O critério de parada dos parâmetros é aplicado a cada ilha separadamente.
+ */
+public class IslandModel {
+    private static final Logger logger = LoggerFactory.getLogger(IslandModel.class);
+    
+    // Incremento usado para derivar as sementes das ilhas (constante de Weyl do SplitMix64)
+    private static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+    
+    /**
+     * Topologia de migração entre ilhas
+     */
+    public enum Topology {
+        RING,            // ilha i envia seus emigrantes para a ilha i+1
+        FULLY_CONNECTED  // cada ilha recebe os emigrantes de todas as outras
+    }
+    
+    private final BRKGAParameters parameters;
+    private final Topology topology;
+    private final int migrationInterval;
+    private final int migrantCount;
+    private final List<MOBRKGA> islands;
+    private final ParetoArchive sharedArchive;
+    
+    private long executionTime;
+    private int migrations;
+    
+    private IslandModel(Builder builder) {
+        this.parameters = builder.parameters;
+        this.topology = builder.topology;
+        this.migrationInterval = builder.migrationInterval;
+        this.migrantCount = builder.migrantCount;
+        this.sharedArchive = new ParetoArchive(parameters.getArchiveSize());
+        
+        this.islands = new ArrayList<>(builder.islandCount);
+        for (int i = 0; i < builder.islandCount; i++) {
+            BRKGAParameters islandParameters = new BRKGAParameters.Builder(parameters)
+                    .randomSeed(parameters.getRandomSeed() + i * SEED_STRIDE)
+                    .build();
+            BRKGADecoder.DecodingStrategy strategy = builder.strategies.get(i % builder.strategies.size());
+            islands.add(new MOBRKGA(builder.instance, islandParameters, strategy));
+        }
+    }
+    
+    /**
+     * Executa todas as ilhas até o número máximo de gerações
+     */
+    public ParetoArchive run() {
+        logger.info("Starting island model: {} islands, topology={}, migration every {} generations",
+                   islands.size(), topology, migrationInterval);
+        long startTime = System.currentTimeMillis();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(islands.size());
+        try {
+            runOnAllIslands(executor, island -> island.start());
+            collectArchives();
+            
+            int generation = 0;
+            while (generation < parameters.getMaxGenerations()) {
+                int epoch = Math.min(migrationInterval, parameters.getMaxGenerations() - generation);
+                runOnAllIslands(executor, island -> {
+                    for (int g = 0; g < epoch && !island.isTerminated(); g++) {
+                        island.step();
+                    }
+                });
+                generation += epoch;
+                
+                collectArchives();
+                if (islands.stream().allMatch(MOBRKGA::isTerminated)) {
+                    break;
+                }
+                if (generation < parameters.getMaxGenerations() && islands.size() > 1) {
+                    migrate();
+                }
+            }
+        } finally {
+            for (MOBRKGA island : islands) {
+                island.finish();
+            }
+            executor.shutdownNow();
+        }
+        
+        executionTime = System.currentTimeMillis() - startTime;
+        logger.info("Island model completed in {} ms. Shared archive size: {}, migrations: {}",
+                   executionTime, sharedArchive.size(), migrations);
+        
+        return sharedArchive;
+    }
+    
+    /**
+     * Executa a ação em todas as ilhas em paralelo e aguarda a conclusão (barreira)
+     */
+    private void runOnAllIslands(ExecutorService executor, IslandAction action) {
+        List<Future<?>> futures = new ArrayList<>(islands.size());
+        for (MOBRKGA island : islands) {
+            futures.add(executor.submit(() -> action.apply(island)));
+        }
+        
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Island model interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Island failed", e.getCause());
+            }
+        }
+    }
+    
+    /**
+     * Troca indivíduos de elite entre as ilhas segundo a topologia
+     */
+    private void migrate() {
+        // Todos os emigrantes são escolhidos antes de qualquer inserção
+        List<List<Individual>> emigrants = new ArrayList<>(islands.size());
+        for (MOBRKGA island : islands) {
+            emigrants.add(island.selectEmigrants(migrantCount));
+        }
+        
+        for (int target = 0; target < islands.size(); target++) {
+            List<Individual> immigrants = new ArrayList<>();
+            if (topology == Topology.RING) {
+                int source = (target - 1 + islands.size()) % islands.size();
+                addImmigrants(immigrants, emigrants.get(source), source, target);
+            } else {
+                for (int source = 0; source < islands.size(); source++) {
+                    if (source != target) {
+                        addImmigrants(immigrants, emigrants.get(source), source, target);
+                    }
+                }
+            }
+            islands.get(target).acceptImmigrants(immigrants);
+        }
+        
+        migrations++;
+    }
+    
+    /**
+     * Adiciona os emigrantes da ilha de origem à lista da ilha de destino. Se as
+     * estratégias de decodificação diferem, a alocação decodificada na origem não
+     * corresponde às chaves na ilha de destino: o emigrante segue sem avaliação, para
+     * ser decodificado pela ilha que o recebe.
+     */
+    private void addImmigrants(List<Individual> immigrants, List<Individual> emigrants, int source, int target) {
+        boolean sameDecoder = islands.get(source).getDecodingStrategy() == islands.get(target).getDecodingStrategy();
+        for (Individual emigrant : emigrants) {
+            if (sameDecoder) {
+                immigrants.add(emigrant);
+            } else {
+                Individual immigrant = new Individual(emigrant);
+                immigrant.invalidate();
+                immigrants.add(immigrant);
+            }
+        }
+    }
+    
+    /**
+     * Envia as soluções não-dominadas de cada ilha ao arquivo compartilhado
+     */
+    private void collectArchives() {
+        for (MOBRKGA island : islands) {
+            for (AllocationSolution solution : island.getArchive().getSolutions()) {
+                sharedArchive.add(solution);
+            }
+        }
+    }
+    
+    public ParetoArchive getSharedArchive() {
+        return sharedArchive;
+    }
+    
+    public List<MOBRKGA> getIslands() {
+        return Collections.unmodifiableList(islands);
+    }
+    
+    public long getExecutionTime() {
+        return executionTime;
+    }
+    
+    public int getMigrations() {
+        return migrations;
+    }
+    
+    @FunctionalInterface
+    private interface IslandAction {
+        void apply(MOBRKGA island);
+    }
+    
+    /**
+     * Builder para configurar o modelo de ilhas
+     */
+    public static class Builder {
+        private final ProblemInstance instance;
+        private final BRKGAParameters parameters;
+        private int islandCount = Runtime.getRuntime().availableProcessors();
+        private List<BRKGADecoder.DecodingStrategy> strategies =
+                Collections.singletonList(BRKGADecoder.DecodingStrategy.BALANCED);
+        private Topology topology = Topology.RING;
+        private int migrationInterval = 50;
+        private int migrantCount = 2;
+        
+        /**
+         * @param parameters parâmetros de cada ilha; a semente da ilha i é derivada de randomSeed
+         */
+        public Builder(ProblemInstance instance, BRKGAParameters parameters) {
+            this.instance = instance;
+            this.parameters = parameters;
+        }
+        
+        public Builder islandCount(int islandCount) {
+            this.islandCount = islandCount;
+            return this;
+        }
+        
+        /**
+         * Estratégias de decodificação atribuídas às ilhas de forma cíclica
+         */
+        public Builder strategies(BRKGADecoder.DecodingStrategy... strategies) {
+            this.strategies = Arrays.asList(strategies);
+            return this;
+        }
+        
+        public Builder topology(Topology topology) {
+            this.topology = topology;
+            return this;
+        }
+        
+        public Builder migrationInterval(int migrationInterval) {
+            this.migrationInterval = migrationInterval;
+            return this;
+        }
+        
+        public Builder migrantCount(int migrantCount) {
+            this.migrantCount = migrantCount;
+            return this;
+        }
+        
+        public IslandModel build() {
+            if (islandCount <= 0) {
+                throw new IllegalArgumentException("Island count must be positive");
+            }
+            if (strategies.isEmpty()) {
+                throw new IllegalArgumentException("At least one decoding strategy is required");
+            }
+            if (topology == null) {
+                throw new IllegalArgumentException("Migration topology is required");
+            }
+            if (migrationInterval <= 0) {
+                throw new IllegalArgumentException("Migration interval must be positive");
+            }
+            if (migrantCount < 0) {
+                throw new IllegalArgumentException("Migrant count must not be negative");
+            }
+            return new IslandModel(this);
+        }
+    }
+}
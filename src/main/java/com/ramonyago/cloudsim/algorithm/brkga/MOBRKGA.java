@@ -1,12 +1,23 @@
 package com.ramonyago.cloudsim.algorithm.brkga;
 
+import com.ramonyago.cloudsim.algorithm.termination.SearchProgress;
+import com.ramonyago.cloudsim.io.AsyncCheckpointWriter;
+import com.ramonyago.cloudsim.io.CheckpointCodec;
 import com.ramonyago.cloudsim.model.AllocationSolution;
+import com.ramonyago.cloudsim.model.CompiledInstance;
 import com.ramonyago.cloudsim.model.ProblemInstance;
+import com.ramonyago.cloudsim.util.HypervolumeTracker;
 import com.ramonyago.cloudsim.util.ParetoArchive;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Implementação do algoritmo BRKGA Multi-objetivo para alocação de VMs.
@@ -14,139 +25,839 @@ import java.util.*;
  */
 public class MOBRKGA {
     private static final Logger logger = LoggerFactory.getLogger(MOBRKGA.class);
+    private static final int CHECKPOINT_MAGIC = 0x42524B43; // "BRKC"
     
     private final BRKGAParameters parameters;
     private final BRKGADecoder decoder;
     private final ProblemInstance instance;
-    private final Random random;
+    private Random random; // substituído ao retomar de um checkpoint
+    private ForkJoinPool evaluationPool; // null no modo sequencial
     
     private List<Individual> population;
+    
+    // Matriz de chaves da população (uma linha por indivíduo) e a da próxima geração;
+    // as duas são alternadas a cada geração, sem novas alocações
+    private final int keyCount;
+    private final int populationCapacity;
+    private double[] populationKeys;
+    private double[] nextPopulationKeys;
     private ParetoArchive archive;
     private int currentGeneration;
+    private SearchProgress progress;
+    
+    // Soluções usadas para semear a população inicial (warm start)
+    private final List<AllocationSolution> seedSolutions;
     
     // Estatísticas de execução
     private long startTime;
     private long endTime;
+    private final HypervolumeTracker hypervolume;
     private List<Double> hyperVolumeHistory;
     private List<Integer> archiveSizeHistory;
     
+    // Checkpoint periódico; a matriz capturada é gravada por referência e não pode ser
+    // reescrita enquanto a gravação não terminar
+    private Path checkpointFile;
+    private int checkpointInterval;
+    private AsyncCheckpointWriter checkpointWriter;
+    private double[] checkpointedKeys;
+    
+    // Regime permanente: cópia das chaves usada pelo checkpoint, matriz de origem e
+    // linhas reescritas desde a última cópia
+    private double[] snapshotKeys;
+    private double[] snapshotSource;
+    private final BitSet dirtyRows = new BitSet();
+    private boolean resumed;
+    private boolean stoppedEarly; // critério de parada atendido; a retomada não avança mais
+    
+    // Regime permanente: população, arquivo e contadores só são acessados sob este lock
+    private final Object steadyStateLock = new Object();
+    private int offspringSinceGeneration;
+    private Random[] workerRandoms; // geradores dos workers, gravados no checkpoint
+    private boolean rankingRestored; // ranks e crowding da população vieram do checkpoint
+    private boolean archiveChangedSinceGeneration;
+    private long resumedEvaluations;
+    
     public MOBRKGA(ProblemInstance instance, BRKGAParameters parameters, 
                    BRKGADecoder.DecodingStrategy strategy) {
         this.instance = instance;
         this.parameters = parameters;
-        this.decoder = new BRKGADecoder(instance, strategy);
+        this.decoder = new BRKGADecoder(instance, strategy, parameters.getEncoding());
         this.random = new Random(parameters.getRandomSeed());
         this.archive = new ParetoArchive(parameters.getArchiveSize());
+        this.keyCount = decoder.getRequiredKeyCount();
+        this.populationCapacity = Math.max(parameters.getPopulationSize(),
+                                           parameters.getEliteSize() + parameters.getMutantSize());
+        this.hypervolume = createHypervolumeTracker(instance, parameters);
+        this.seedSolutions = new ArrayList<>();
         this.hyperVolumeHistory = new ArrayList<>();
         this.archiveSizeHistory = new ArrayList<>();
         
         logger.info("MOBRKGA initialized with parameters: {}", parameters);
     }
     
+    /**
+     * Semeia a população inicial com soluções conhecidas, p.ex. a frente de uma execução
+     * anterior sobre uma frota parecida. As soluções são associadas a esta instância
+     * pelos ids de VMs e hosts; as que excederem o tamanho da população são ignoradas.
+     */
+    public void seed(Collection<AllocationSolution> solutions) {
+        seedSolutions.addAll(solutions);
+    }
+    
+    /**
+     * Semeia a população inicial com as soluções de um arquivo de Pareto anterior
+     */
+    public void seed(ParetoArchive previousArchive) {
+        seed(previousArchive.getSolutions());
+    }
+    
+    /**
+     * Grava o estado completo a cada interval gerações (e ao final) em file. A gravação
+     * ocorre em segundo plano; se a anterior ainda não terminou, o checkpoint da geração
+     * é pulado em vez de pausar a busca.
+     */
+    public void enableCheckpointing(Path file, int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.checkpointFile = file;
+        this.checkpointInterval = interval;
+    }
+    
+    /**
+     * Recria uma execução a partir de um checkpoint gravado por {@link #enableCheckpointing}.
+     * A instância, a estratégia e a codificação devem ser as da execução original; o
+     * {@link #run()} seguinte continua da geração gravada, com a mesma sequência aleatória.
+     * Os critérios de parada por tempo e estagnação recomeçam a contar na retomada.
+     */
+    public static MOBRKGA resume(ProblemInstance instance, BRKGAParameters parameters,
+                                 BRKGADecoder.DecodingStrategy strategy, Path file) throws IOException {
+        MOBRKGA algorithm = new MOBRKGA(instance, parameters, strategy);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            algorithm.readCheckpoint(in);
+        }
+        logger.info("MOBRKGA resumed from {} at generation {}", file, algorithm.currentGeneration);
+        return algorithm;
+    }
+    
     /**
      * Executa o algoritmo BRKGA multi-objetivo
      */
     public ParetoArchive run() {
         logger.info("Starting MOBRKGA execution...");
+        
+        try {
+            start();
+            if (parameters.isSteadyState()) {
+                runSteadyState();
+            }
+            while (!stoppedEarly && currentGeneration < parameters.getMaxGenerations()) {
+                if (isTerminated()) {
+                    stoppedEarly = true;
+                    break;
+                }
+                step();
+            }
+        } finally {
+            finish();
+        }
+        
+        logger.info("MOBRKGA completed in {} ms after {} generations and {} evaluations", 
+                   endTime - startTime, currentGeneration, progress.getEvaluations());
+        
+        return archive;
+    }
+    
+    /**
+     * Inicialização: cria, avalia e arquiva a população inicial (geração 0).
+     * Usado por {@link #run()} e pelo {@link IslandModel}, que avança as ilhas por etapas.
+     */
+    void start() {
         startTime = System.currentTimeMillis();
+        progress = new SearchProgress();
+        
+        if (parameters.getParallelism() > 1) {
+            evaluationPool = new ForkJoinPool(parameters.getParallelism());
+        }
+        if (checkpointFile != null) {
+            checkpointWriter = new AsyncCheckpointWriter(checkpointFile);
+        }
         
-        // Inicialização
+        if (resumed) {
+            // População, arquivo e históricos vieram do checkpoint; a decodificação
+            // determinística reconstrói as soluções da população, já contadas antes
+            progress.addEvaluations(resumedEvaluations);
+            decodePopulation();
+            return;
+        }
+        
+        currentGeneration = 0;
         initializePopulation();
+        evaluateInitialPopulation();
+        verifySeeds();
+        updateArchive();
+    }
+    
+    /**
+     * Indica se o critério de parada antecipada foi atendido
+     */
+    boolean isTerminated() {
+        return parameters.getTermination().isMet(progress);
+    }
+    
+    /**
+     * Executa uma geração do loop evolutivo
+     */
+    void step() {
+        currentGeneration++;
+        
+        // Classificação por dominância e crowding distance
+        performSelection();
+        
+        // Geração da próxima população
+        generateNextPopulation();
+        
+        // Avaliação
         evaluatePopulation();
+        
+        // Atualização do arquivo
         updateArchive();
         
-        // Loop evolutivo principal
-        for (currentGeneration = 1; currentGeneration <= parameters.getMaxGenerations(); currentGeneration++) {
-            // Classificação por dominância e crowding distance
-            if (parameters.isUseNSGA2Selection()) {
-                performNSGA2Selection();
-            } else {
-                performSimpleSelection();
+        // Logging de progresso
+        if (currentGeneration % 100 == 0 || currentGeneration == parameters.getMaxGenerations()) {
+            logProgress();
+        }
+        
+        if (checkpointWriter != null && currentGeneration % checkpointInterval == 0) {
+            checkpoint();
+        }
+    }
+    
+    /**
+     * Libera o pool de avaliação, grava o checkpoint final e registra o tempo de execução
+     */
+    void finish() {
+        if (evaluationPool != null) {
+            evaluationPool.shutdown();
+            evaluationPool = null;
+        }
+        if (checkpointWriter != null) {
+            checkpointWriter.awaitIdle();
+            if (population != null) {
+                checkpoint();
+            }
+            checkpointWriter.close();
+            checkpointWriter = null;
+            checkpointedKeys = null;
+        }
+        endTime = System.currentTimeMillis();
+    }
+    
+    /**
+     * Captura o estado e agenda sua gravação. A captura copia apenas metadados (ordem
+     * das linhas, gerador, históricos, referências às soluções do arquivo, que não são
+     * mais modificadas); a matriz de chaves é gravada diretamente do buffer atual, que
+     * só volta a ser escrito duas gerações depois.
+     */
+    private void checkpoint() {
+        if (checkpointWriter.isBusy()) {
+            logger.debug("Skipping checkpoint at generation {}: previous write still running", 
+                        currentGeneration);
+            return;
+        }
+        
+        // No regime permanente as linhas são reescritas a cada filho: grava uma cópia
+        double[] keys = parameters.isSteadyState() ? snapshotKeys() : populationKeys;
+        int[] rowOffsets = new int[population.size()];
+        // No regime permanente a população está sempre classificada: a ordem, os ranks e
+        // o crowding são gravados para que a retomada escolha os mesmos pais
+        boolean ranked = parameters.isSteadyState();
+        int[] ranks = new int[ranked ? rowOffsets.length : 0];
+        double[] crowding = new double[ranks.length];
+        for (int i = 0; i < rowOffsets.length; i++) {
+            Individual individual = population.get(i);
+            if (individual.keyBuffer() != populationKeys) {
+                throw new IllegalStateException("Population row outside the key matrix");
+            }
+            rowOffsets[i] = individual.keyOffset();
+            if (ranked) {
+                ranks[i] = individual.getDominationRank();
+                crowding[i] = individual.getCrowdingDistance();
+            }
+        }
+        int generation = currentGeneration;
+        boolean finished = stoppedEarly;
+        long evaluations = progress.getEvaluations();
+        byte[] randomState = CheckpointCodec.serializeRandom(random);
+        byte[][] workerStates = new byte[workerRandoms == null ? 0 : workerRandoms.length][];
+        for (int w = 0; w < workerStates.length; w++) {
+            workerStates[w] = CheckpointCodec.serializeRandom(workerRandoms[w]);
+        }
+        List<AllocationSolution> archived = archive.getSolutions();
+        double[][] front = hypervolume.getFront();
+        double[] hvHistory = hyperVolumeHistory.stream().mapToDouble(Double::doubleValue).toArray();
+        int[] sizeHistory = archiveSizeHistory.stream().mapToInt(Integer::intValue).toArray();
+        CompiledInstance compiled = instance.compile();
+        
+        checkpointedKeys = parameters.isSteadyState() ? null : keys;
+        checkpointWriter.submit(out -> {
+            CheckpointCodec.writeHeader(out, CHECKPOINT_MAGIC, compiled);
+            out.writeInt(decoder.getEncoding().ordinal());
+            out.writeInt(keyCount);
+            out.writeInt(generation);
+            out.writeBoolean(finished);
+            out.writeLong(evaluations);
+            CheckpointCodec.writeBytes(out, randomState);
+            out.writeInt(workerStates.length);
+            for (byte[] workerState : workerStates) {
+                CheckpointCodec.writeBytes(out, workerState);
             }
             
-            // Geração da próxima população
-            generateNextPopulation();
+            out.writeInt(rowOffsets.length);
+            for (int offset : rowOffsets) {
+                CheckpointCodec.writeDoubles(out, keys, offset, keyCount);
+            }
+            out.writeBoolean(ranked);
+            for (int i = 0; i < ranks.length; i++) {
+                out.writeInt(ranks[i]);
+                out.writeDouble(crowding[i]);
+            }
             
-            // Avaliação
-            evaluatePopulation();
+            CheckpointCodec.writeSolutions(out, archived, compiled);
+            out.writeInt(front.length);
+            for (double[] point : front) {
+                out.writeDouble(point[0]);
+                out.writeDouble(point[1]);
+            }
             
-            // Atualização do arquivo
-            updateArchive();
+            out.writeInt(hvHistory.length);
+            CheckpointCodec.writeDoubles(out, hvHistory, 0, hvHistory.length);
+            for (int size : sizeHistory) {
+                out.writeInt(size);
+            }
+        });
+    }
+    
+    /**
+     * Atualiza a cópia das chaves gravada pelo checkpoint do regime permanente. Só as
+     * linhas reescritas desde a cópia anterior são copiadas, o que limita o trabalho
+     * feito sob o lock dos workers. A cópia só é reescrita com o gravador ocioso.
+     */
+    private double[] snapshotKeys() {
+        if (snapshotKeys == null || snapshotSource != populationKeys) {
+            snapshotKeys = populationKeys.clone();
+            snapshotSource = populationKeys;
+        } else {
+            for (int row = dirtyRows.nextSetBit(0); row >= 0; row = dirtyRows.nextSetBit(row + 1)) {
+                System.arraycopy(populationKeys, row * keyCount, snapshotKeys, row * keyCount, keyCount);
+            }
+        }
+        dirtyRows.clear();
+        return snapshotKeys;
+    }
+    
+    private void markRowDirty(Individual individual) {
+        if (individual.keyBuffer() == snapshotSource) {
+            dirtyRows.set(individual.keyOffset() / keyCount);
+        }
+    }
+    
+    private void readCheckpoint(DataInputStream in) throws IOException {
+        CompiledInstance compiled = instance.compile();
+        CheckpointCodec.readHeader(in, CHECKPOINT_MAGIC, compiled);
+        int encoding = in.readInt();
+        if (encoding != decoder.getEncoding().ordinal() || in.readInt() != keyCount) {
+            throw new IOException("Checkpoint was written with a different chromosome encoding");
+        }
+        currentGeneration = in.readInt();
+        stoppedEarly = in.readBoolean();
+        resumedEvaluations = in.readLong();
+        random = CheckpointCodec.readRandom(in);
+        int workers = in.readInt();
+        if (workers > 0) {
+            workerRandoms = new Random[workers];
+            for (int w = 0; w < workers; w++) {
+                workerRandoms[w] = CheckpointCodec.readRandom(in);
+            }
+        }
+        
+        int size = in.readInt();
+        if (size <= 0 || size > populationCapacity) {
+            throw new IOException("Checkpoint population size " + size + " does not fit the parameters");
+        }
+        populationKeys = new double[Math.multiplyExact(populationCapacity, keyCount)];
+        nextPopulationKeys = new double[populationKeys.length];
+        population = new ArrayList<>(populationCapacity);
+        for (int i = 0; i < size; i++) {
+            CheckpointCodec.readDoubles(in, populationKeys, i * keyCount, keyCount);
+            population.add(row(populationKeys, i));
+        }
+        rankingRestored = in.readBoolean();
+        if (rankingRestored) {
+            for (Individual individual : population) {
+                individual.setDominationRank(in.readInt());
+                individual.setCrowdingDistance(in.readDouble());
+            }
+        }
+        
+        for (AllocationSolution solution : CheckpointCodec.readSolutions(in, compiled)) {
+            archive.add(solution);
+        }
+        int frontSize = in.readInt();
+        for (int i = 0; i < frontSize; i++) {
+            hypervolume.add(in.readDouble(), in.readDouble());
+        }
+        
+        int historyLength = in.readInt();
+        for (int i = 0; i < historyLength; i++) {
+            hyperVolumeHistory.add(in.readDouble());
+        }
+        for (int i = 0; i < historyLength; i++) {
+            archiveSizeHistory.add(in.readInt());
+        }
+        resumed = true;
+    }
+    
+    /**
+     * Aguarda a gravação que ainda lê o buffer informado, antes de reescrevê-lo
+     */
+    private void releaseCheckpointedKeys(double[] buffer) {
+        if (buffer == checkpointedKeys) {
+            checkpointWriter.awaitIdle();
+            checkpointedKeys = null;
+        }
+    }
+    
+    /**
+     * Evolução em regime permanente: cada worker escolhe pais na elite atual (o início
+     * da população, mantida ordenada), decodifica o filho fora do lock e o insere assim
+     * que fica pronto, descartando o pior indivíduo. Nenhum worker espera pelos demais,
+     * então decodificações lentas não deixam núcleos ociosos numa barreira.
+     *
+     * Com um worker a execução é reprodutível, inclusive ao retomar um checkpoint, que
+     * grava os geradores dos workers; com vários, a ordem das inserções depende do
+     * escalonamento das threads e nem a execução nem a retomada são reprodutíveis.
+     */
+    private void runSteadyState() {
+        int workers = parameters.getParallelism();
+        if (workerRandoms == null || workerRandoms.length != workers) {
+            // Sementes derivadas do gerador principal; na retomada os geradores vêm do checkpoint
+            workerRandoms = new Random[workers];
+            for (int w = 0; w < workers; w++) {
+                workerRandoms[w] = new Random(random.nextLong());
+            }
+        }
+        List<SteadyStateWorker> tasks = new ArrayList<>(workers);
+        for (Random workerRandom : workerRandoms) {
+            tasks.add(new SteadyStateWorker(workerRandom));
+        }
+        synchronized (steadyStateLock) {
+            if (!rankingRestored) {
+                performSelection();
+            }
+            rankingRestored = false;
+        }
+        
+        if (workers == 1) {
+            tasks.get(0).run();
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (SteadyStateWorker task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Steady-state evolution interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Steady-state worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Indica se os workers devem gerar mais filhos; chamado sob o lock
+     */
+    private boolean continueSteadyState() {
+        if (stoppedEarly || currentGeneration >= parameters.getMaxGenerations()) {
+            return false;
+        }
+        if (isTerminated()) {
+            stoppedEarly = true;
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Insere um filho avaliado no lugar do pior indivíduo, se ele não for o pior;
+     * chamado sob o lock. As chaves são copiadas para a linha do indivíduo descartado.
+     */
+    private void insertOffspring(Individual offspring) {
+        progress.addEvaluations(1);
+        AllocationSolution solution = offspring.getSolution();
+        if (archive.add(solution)) {
+            hypervolume.add(solution.getTotalCost(), solution.getTotalReliability());
+            archiveChangedSinceGeneration = true;
+        }
+        
+        Individual worst = rankOffspring(offspring);
+        if (worst != offspring) {
+            for (int i = 0; i < population.size(); i++) {
+                if (population.get(i) == offspring) {
+                    population.set(i, Individual.copyInto(offspring, worst.keyBuffer(), worst.keyOffset()));
+                    markRowDirty(worst);
+                    break;
+                }
+            }
+        }
+        
+        // Uma geração equivale aos filhos que o modo geracional produziria
+        int offspringPerGeneration = Math.max(1, parameters.getPopulationSize() - parameters.getEliteSize());
+        if (++offspringSinceGeneration >= offspringPerGeneration) {
+            offspringSinceGeneration = 0;
+            currentGeneration++;
+            archiveSizeHistory.add(archive.size());
+            hyperVolumeHistory.add(hypervolume.getHypervolume());
+            progress.recordIteration(archiveChangedSinceGeneration, hypervolume.getHypervolume());
+            archiveChangedSinceGeneration = false;
             
-            // Logging de progresso
             if (currentGeneration % 100 == 0 || currentGeneration == parameters.getMaxGenerations()) {
                 logProgress();
             }
+            if (checkpointWriter != null && currentGeneration % checkpointInterval == 0) {
+                checkpoint();
+            }
+        }
+    }
+    
+    /**
+     * Insere o filho na população ordenada e remove o pior indivíduo, que é retornado.
+     * A frente do filho é obtida dos que o dominam; se ela é pior que a do último
+     * indivíduo, o filho é descartado sem reclassificação. Caso contrário, as frentes
+     * anteriores à do filho não mudam e só o sufixo a partir dela é reclassificado,
+     * com o mesmo resultado da reclassificação completa.
+     */
+    private Individual rankOffspring(Individual offspring) {
+        AllocationSolution solution = offspring.getSolution();
+        int n = population.size();
+        int offspringRank = 0;
+        for (Individual individual : population) {
+            AllocationSolution other = individual.getSolution();
+            if (individual.getDominationRank() >= offspringRank
+                    && ParetoRanking.dominates(other.getTotalCost(), other.getTotalReliability(),
+                                               solution.getTotalCost(), solution.getTotalReliability())) {
+                offspringRank = individual.getDominationRank() + 1;
+            }
         }
         
-        endTime = System.currentTimeMillis();
-        logger.info("MOBRKGA completed in {} ms", endTime - startTime);
+        boolean nsga2 = parameters.isUseNSGA2Selection();
+        if (!nsga2) {
+            offspringRank = Math.min(offspringRank, 1);
+        }
+        int worstRank = population.get(n - 1).getDominationRank();
+        if (offspringRank > worstRank || (!nsga2 && offspringRank == worstRank)) {
+            // Após a reclassificação o filho seria o último
+            return offspring;
+        }
         
-        return archive;
+        population.add(offspring);
+        if (!nsga2) {
+            // Na seleção simples o filho não-dominado pode rebaixar a frente 0 inteira
+            performSelection();
+            return population.remove(n);
+        }
+        
+        int from = 0;
+        while (population.get(from).getDominationRank() < offspringRank) {
+            from++;
+        }
+        int m = n + 1 - from;
+        double[] cost = new double[m];
+        double[] reliability = new double[m];
+        extractObjectives(from, cost, reliability);
+        int[] rank = new int[m];
+        double[] crowding = new double[m];
+        int frontCount = ParetoRanking.assignRanks(cost, reliability, rank);
+        ParetoRanking.assignCrowding(cost, reliability, rank, frontCount, crowding);
+        for (int i = 0; i < m; i++) {
+            Individual individual = population.get(from + i);
+            individual.setDominationRank(offspringRank + rank[i]);
+            individual.setCrowdingDistance(crowding[i]);
+        }
+        population.subList(from, n + 1).sort(Individual::compareTo);
+        return population.remove(n);
+    }
+    
+    /**
+     * Worker do regime permanente, com gerador e buffer de filho próprios
+     */
+    private class SteadyStateWorker implements Runnable {
+        private final Random workerRandom;
+        private final Individual offspring;
+        
+        SteadyStateWorker(Random workerRandom) {
+            this.workerRandom = workerRandom;
+            this.offspring = new Individual(keyCount);
+        }
+        
+        @Override
+        public void run() {
+            double mutantShare = (double) parameters.getMutantSize() / parameters.getPopulationSize();
+            while (true) {
+                boolean mutant;
+                synchronized (steadyStateLock) {
+                    if (!continueSteadyState()) {
+                        return;
+                    }
+                    // Os pais são lidos sob o lock, pois suas linhas podem ser reescritas
+                    mutant = workerRandom.nextDouble() < mutantShare;
+                    if (!mutant) {
+                        int eliteCount = Math.min(parameters.getEliteSize(), population.size());
+                        Individual elite = population.get(workerRandom.nextInt(eliteCount));
+                        Individual nonElite = eliteCount < population.size()
+                                ? population.get(eliteCount + workerRandom.nextInt(population.size() - eliteCount))
+                                : elite;
+                        Individual.crossoverInto(elite, nonElite, parameters.getInheritanceProbability(),
+                                                 workerRandom, offspring);
+                    }
+                }
+                if (mutant) {
+                    offspring.randomize(workerRandom);
+                }
+                
+                offspring.setSolution(decoder.decode(offspring.keyBuffer(), offspring.keyOffset()));
+                
+                synchronized (steadyStateLock) {
+                    insertOffspring(offspring);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Retorna cópias dos melhores indivíduos da população atual, para migração
+     */
+    List<Individual> selectEmigrants(int count) {
+        performSelection();
+        List<Individual> emigrants = new ArrayList<>(count);
+        for (int i = 0; i < count && i < population.size(); i++) {
+            emigrants.add(new Individual(population.get(i)));
+        }
+        return emigrants;
+    }
+    
+    /**
+     * Insere indivíduos de outra ilha no lugar dos últimos da população.
+     * A elite (início da população) é preservada. Imigrantes não avaliados (vindos
+     * de ilhas com outra estratégia) são decodificados aqui, com o decodificador desta
+     * ilha, antes da próxima seleção.
+     */
+    void acceptImmigrants(List<Individual> immigrants) {
+        releaseCheckpointedKeys(populationKeys);
+        int slots = Math.min(immigrants.size(), population.size() - parameters.getEliteSize());
+        int pending = 0;
+        for (int i = 0; i < slots; i++) {
+            // O imigrante é copiado para a linha da matriz ocupada pelo indivíduo substituído
+            int position = population.size() - 1 - i;
+            Individual replaced = population.get(position);
+            Individual immigrant = Individual.copyInto(immigrants.get(i), 
+                                                       replaced.keyBuffer(), replaced.keyOffset());
+            markRowDirty(replaced);
+            if (!immigrant.isEvaluated()) {
+                evaluate(immigrant);
+                pending++;
+            }
+            population.set(position, immigrant);
+        }
+        progress.addEvaluations(pending);
+    }
+    
+    BRKGADecoder.DecodingStrategy getDecodingStrategy() {
+        return decoder.getStrategy();
+    }
+    
+    private void performSelection() {
+        if (parameters.isUseNSGA2Selection()) {
+            performNSGA2Selection();
+        } else {
+            performSimpleSelection();
+        }
     }
     
     /**
      * Inicializa a população com indivíduos aleatórios
      */
     private void initializePopulation() {
-        population = new ArrayList<>(parameters.getPopulationSize());
-        int keyCount = decoder.getRequiredKeyCount();
+        if (populationKeys == null) {
+            populationKeys = new double[Math.multiplyExact(populationCapacity, keyCount)];
+            nextPopulationKeys = new double[populationKeys.length];
+        }
+        population = new ArrayList<>(populationCapacity);
         
+        int seeded = Math.min(seedSolutions.size(), parameters.getPopulationSize());
         for (int i = 0; i < parameters.getPopulationSize(); i++) {
-            Individual individual = new Individual(keyCount);
-            individual.randomize(random);
+            Individual individual = row(populationKeys, i);
+            if (i < seeded) {
+                double[] keys = decoder.encode(seedSolutions.get(i));
+                System.arraycopy(keys, 0, populationKeys, i * keyCount, keyCount);
+            } else {
+                individual.randomize(random);
+            }
             population.add(individual);
         }
         
-        logger.debug("Population initialized with {} individuals", population.size());
+        logger.debug("Population initialized with {} individuals ({} seeded)", population.size(), seeded);
+    }
+    
+    /**
+     * Confere, pelos fingerprints, quantas sementes foram reproduzidas exatamente
+     */
+    private void verifySeeds() {
+        int seeded = Math.min(seedSolutions.size(), population.size());
+        if (seeded == 0) {
+            return;
+        }
+        int reproduced = 0;
+        for (int i = 0; i < seeded; i++) {
+            if (population.get(i).getSolution().getFingerprint() == seedSolutions.get(i).getFingerprint()) {
+                reproduced++;
+            }
+        }
+        logger.info("Warm start: {} of {} seed solutions reproduced exactly", reproduced, seeded);
+    }
+    
+    /**
+     * Avalia a população inicial em lotes (um indivíduo, ou uma tarefa por thread do
+     * pool), verificando o critério de parada entre eles. Se ele for atendido antes do
+     * fim, a população fica reduzida aos indivíduos avaliados e a evolução não começa.
+     */
+    private void evaluateInitialPopulation() {
+        int batch = evaluationPool != null ? parameters.getParallelism() * EvaluationTask.THRESHOLD : 1;
+        for (int from = 0; from < population.size(); from += batch) {
+            int to = Math.min(population.size(), from + batch);
+            int pending = 0;
+            for (int i = from; i < to; i++) {
+                if (!population.get(i).isEvaluated()) {
+                    pending++;
+                }
+            }
+            progress.addEvaluations(pending);
+            decodeRange(from, to);
+            if (to < population.size() && isTerminated()) {
+                logger.info("Termination criterion met after evaluating {} of {} initial individuals",
+                           to, population.size());
+                population.subList(to, population.size()).clear();
+                stoppedEarly = true;
+                return;
+            }
+        }
     }
     
     /**
      * Avalia toda a população
      */
     private void evaluatePopulation() {
+        int pending = 0;
         for (Individual individual : population) {
             if (!individual.isEvaluated()) {
-                AllocationSolution solution = decoder.decode(individual.getKeys());
-                individual.setSolution(solution);
+                pending++;
             }
         }
+        progress.addEvaluations(pending);
+        decodePopulation();
+    }
+    
+    /**
+     * Decodifica os indivíduos ainda não avaliados, sem contabilizá-los
+     */
+    private void decodePopulation() {
+        decodeRange(0, population.size());
+    }
+    
+    private void decodeRange(int from, int to) {
+        if (evaluationPool != null) {
+            // A decodificação é determinística e não usa o gerador aleatório, e cada
+            // tarefa escreve apenas nos seus indivíduos: o resultado independe do paralelismo
+            evaluationPool.invoke(new EvaluationTask(population, from, to));
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            evaluate(population.get(i));
+        }
+    }
+    
+    private void evaluate(Individual individual) {
+        if (!individual.isEvaluated()) {
+            AllocationSolution solution = decoder.decode(individual.keyBuffer(), individual.keyOffset());
+            individual.setSolution(solution);
+        }
     }
     
     /**
      * Atualiza o arquivo de soluções não-dominadas
      */
     private void updateArchive() {
+        boolean changed = false;
         for (Individual individual : population) {
             if (individual.isEvaluated()) {
-                archive.add(individual.getSolution());
+                AllocationSolution solution = individual.getSolution();
+                if (archive.add(solution)) {
+                    hypervolume.add(solution.getTotalCost(), solution.getTotalReliability());
+                    changed = true;
+                }
             }
         }
         
         archiveSizeHistory.add(archive.size());
-        // TODO: Implementar cálculo de hipervolume
-        hyperVolumeHistory.add(0.0);
+        hyperVolumeHistory.add(hypervolume.getHypervolume());
+        progress.recordIteration(changed, hypervolume.getHypervolume());
+    }
+    
+    /**
+     * Cria o rastreador de hipervolume com o ponto de referência configurado ou, se
+     * ausente, com o custo de todos os hosts ativos e confiabilidade 0
+     */
+    private static HypervolumeTracker createHypervolumeTracker(ProblemInstance instance,
+                                                               BRKGAParameters parameters) {
+        if (parameters.hasHypervolumeReference()) {
+            return new HypervolumeTracker(parameters.getHypervolumeReferenceCost(),
+                                          parameters.getHypervolumeReferenceReliability());
+        }
+        CompiledInstance compiled = instance.compile();
+        double totalHostCost = 0.0;
+        for (int h = 0; h < compiled.getHostCount(); h++) {
+            totalHostCost += compiled.getCost(h);
+        }
+        return new HypervolumeTracker(totalHostCost, 0.0);
     }
     
     /**
      * Seleção baseada em NSGA-II (ranking + crowding distance)
      */
     private void performNSGA2Selection() {
-        // Classificação por frentes de não-dominância
-        List<List<Individual>> fronts = nonDominatedSort(population);
+        int n = population.size();
+        double[] cost = new double[n];
+        double[] reliability = new double[n];
+        extractObjectives(0, cost, reliability);
         
-        // Calcula crowding distance para cada frente
-        for (List<Individual> front : fronts) {
-            calculateCrowdingDistance(front);
-        }
+        // Classificação por frentes de não-dominância e crowding distance por frente
+        int[] rank = new int[n];
+        double[] crowding = new double[n];
+        int frontCount = ParetoRanking.assignRanks(cost, reliability, rank);
+        ParetoRanking.assignCrowding(cost, reliability, rank, frontCount, crowding);
         
-        // Atribui ranks aos indivíduos
-        int rank = 0;
-        for (List<Individual> front : fronts) {
-            for (Individual individual : front) {
-                individual.setDominationRank(rank);
-            }
-            rank++;
+        for (int i = 0; i < n; i++) {
+            Individual individual = population.get(i);
+            individual.setDominationRank(rank[i]);
+            individual.setCrowdingDistance(crowding[i]);
         }
         
         // Ordena população por rank e crowding distance
@@ -157,34 +868,40 @@ public class MOBRKGA {
      * Seleção simples baseada apenas em dominância
      */
     private void performSimpleSelection() {
-        // Identifica soluções não-dominadas
-        List<Individual> nonDominated = new ArrayList<>();
-        
-        for (Individual candidate : population) {
-            boolean isDominated = false;
-            for (Individual other : population) {
-                if (!candidate.equals(other) && other.compareDominance(candidate) < 0) {
-                    isDominated = true;
-                    break;
-                }
-            }
-            if (!isDominated) {
-                nonDominated.add(candidate);
-                candidate.setDominationRank(0);
-            } else {
-                candidate.setDominationRank(1);
-            }
+        int n = population.size();
+        double[] cost = new double[n];
+        double[] reliability = new double[n];
+        extractObjectives(0, cost, reliability);
+        
+        // Identifica soluções não-dominadas (frente 0); as demais recebem rank 1
+        int[] rank = new int[n];
+        ParetoRanking.assignRanks(cost, reliability, rank);
+        for (int i = 0; i < n; i++) {
+            population.get(i).setDominationRank(rank[i] == 0 ? 0 : 1);
         }
         
         // Ordena por rank
         population.sort(Comparator.comparingInt(Individual::getDominationRank));
     }
     
+    /**
+     * Copia os objetivos dos indivíduos a partir da posição from
+     */
+    private void extractObjectives(int from, double[] cost, double[] reliability) {
+        for (int i = 0; i < cost.length; i++) {
+            AllocationSolution solution = population.get(from + i).getSolution();
+            cost[i] = solution.getTotalCost();
+            reliability[i] = solution.getTotalReliability();
+        }
+    }
+    
     /**
      * Gera a próxima população usando operadores genéticos do BRKGA
      */
     private void generateNextPopulation() {
-        List<Individual> nextPopulation = new ArrayList<>(parameters.getPopulationSize());
+        List<Individual> nextPopulation = new ArrayList<>(populationCapacity);
+        double[] nextKeys = nextPopulationKeys;
+        releaseCheckpointedKeys(nextKeys);
         
         // Determina tamanhos das subpopulações
         int eliteSize = parameters.getEliteSize();
@@ -193,12 +910,13 @@ public class MOBRKGA {
         
         // Elite: melhores indivíduos da geração atual
         for (int i = 0; i < eliteSize && i < population.size(); i++) {
-            nextPopulation.add(new Individual(population.get(i)));
+            Individual elite = population.get(i);
+            nextPopulation.add(Individual.copyInto(elite, nextKeys, nextPopulation.size() * keyCount));
         }
         
         // Mutantes: indivíduos completamente aleatórios
         for (int i = 0; i < mutantSize; i++) {
-            Individual mutant = new Individual(decoder.getRequiredKeyCount());
+            Individual mutant = row(nextKeys, nextPopulation.size());
             mutant.randomize(random);
             nextPopulation.add(mutant);
         }
@@ -213,126 +931,30 @@ public class MOBRKGA {
             Individual nonElite = nonElites.isEmpty() ? elite : 
                                  nonElites.get(random.nextInt(nonElites.size()));
             
-            Individual offspring = Individual.crossover(elite, nonElite, 
-                                                      parameters.getInheritanceProbability(), random);
+            Individual offspring = row(nextKeys, nextPopulation.size());
+            Individual.crossoverInto(elite, nonElite, parameters.getInheritanceProbability(), 
+                                     random, offspring);
             nextPopulation.add(offspring);
         }
         
         // Completa a população se necessário
         while (nextPopulation.size() < parameters.getPopulationSize()) {
-            Individual extra = new Individual(decoder.getRequiredKeyCount());
+            Individual extra = row(nextKeys, nextPopulation.size());
             extra.randomize(random);
             nextPopulation.add(extra);
         }
         
+        // As linhas da geração anterior passam a ser reescritas na próxima
         population = nextPopulation;
+        nextPopulationKeys = populationKeys;
+        populationKeys = nextKeys;
     }
     
     /**
-     * Classificação por frentes de não-dominância (NSGA-II)
+     * Indivíduo que referencia a linha da matriz de chaves informada
      */
-    private List<List<Individual>> nonDominatedSort(List<Individual> individuals) {
-        List<List<Individual>> fronts = new ArrayList<>();
-        Map<Individual, List<Individual>> dominatedSolutions = new HashMap<>();
-        Map<Individual, Integer> dominationCount = new HashMap<>();
-        
-        // Inicialização
-        for (Individual individual : individuals) {
-            dominatedSolutions.put(individual, new ArrayList<>());
-            dominationCount.put(individual, 0);
-        }
-        
-        // Primeira frente
-        List<Individual> firstFront = new ArrayList<>();
-        
-        for (Individual p : individuals) {
-            for (Individual q : individuals) {
-                if (!p.equals(q)) {
-                    int dominance = p.compareDominance(q);
-                    if (dominance < 0) { // p domina q
-                        dominatedSolutions.get(p).add(q);
-                    } else if (dominance > 0) { // q domina p
-                        dominationCount.put(p, dominationCount.get(p) + 1);
-                    }
-                }
-            }
-            
-            if (dominationCount.get(p) == 0) {
-                firstFront.add(p);
-            }
-        }
-        
-        fronts.add(firstFront);
-        
-        // Frentes subsequentes
-        int frontIndex = 0;
-        while (!fronts.get(frontIndex).isEmpty()) {
-            List<Individual> nextFront = new ArrayList<>();
-            
-            for (Individual p : fronts.get(frontIndex)) {
-                for (Individual q : dominatedSolutions.get(p)) {
-                    dominationCount.put(q, dominationCount.get(q) - 1);
-                    if (dominationCount.get(q) == 0) {
-                        nextFront.add(q);
-                    }
-                }
-            }
-            
-            if (!nextFront.isEmpty()) {
-                fronts.add(nextFront);
-                frontIndex++;
-            } else {
-                break;
-            }
-        }
-        
-        return fronts;
-    }
-    
-    /**
-     * Calcula crowding distance para diversidade
-     */
-    private void calculateCrowdingDistance(List<Individual> front) {
-        if (front.size() <= 2) {
-            for (Individual individual : front) {
-                individual.setCrowdingDistance(Double.MAX_VALUE);
-            }
-            return;
-        }
-        
-        // Inicializa distâncias
-        for (Individual individual : front) {
-            individual.setCrowdingDistance(0.0);
-        }
-        
-        // Para cada objetivo
-        calculateCrowdingDistanceForObjective(front, Individual::getTotalCost, true);
-        calculateCrowdingDistanceForObjective(front, Individual::getTotalReliability, false);
-    }
-    
-    private void calculateCrowdingDistanceForObjective(List<Individual> front, 
-                                                     java.util.function.Function<Individual, Double> objectiveExtractor,
-                                                     boolean minimize) {
-        // Ordena por objetivo
-        front.sort(Comparator.comparingDouble(objectiveExtractor::apply));
-        
-        // Extremos têm distância infinita
-        front.get(0).setCrowdingDistance(Double.MAX_VALUE);
-        front.get(front.size() - 1).setCrowdingDistance(Double.MAX_VALUE);
-        
-        // Calcula range do objetivo
-        double minValue = objectiveExtractor.apply(front.get(0));
-        double maxValue = objectiveExtractor.apply(front.get(front.size() - 1));
-        double range = maxValue - minValue;
-        
-        if (range > 0) {
-            for (int i = 1; i < front.size() - 1; i++) {
-                double distance = (objectiveExtractor.apply(front.get(i + 1)) - 
-                                 objectiveExtractor.apply(front.get(i - 1))) / range;
-                Individual individual = front.get(i);
-                individual.setCrowdingDistance(individual.getCrowdingDistance() + distance);
-            }
-        }
+    private Individual row(double[] keys, int index) {
+        return new Individual(keys, index * keyCount, keyCount);
     }
     
     private double getTotalCost(Individual individual) {
@@ -357,7 +979,43 @@ public class MOBRKGA {
                    String.format("%.3f", avgReliability));
     }
     
-    // Getters para estatísticas
+    /**
+     * Avalia um intervalo da população, dividindo-o até o limiar de granularidade
+     */
+    private class EvaluationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int THRESHOLD = 4;
+        
+        private final List<Individual> individuals;
+        private final int from;
+        private final int to;
+        
+        EvaluationTask(List<Individual> individuals, int from, int to) {
+            this.individuals = individuals;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    evaluate(individuals.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new EvaluationTask(individuals, from, mid),
+                      new EvaluationTask(individuals, mid, to));
+        }
+    }
+    
+        // Getters para estatísticas
+    /**
+     * Indivíduos da população atual. Eles referenciam a matriz de chaves, que é
+     * reescrita nas gerações seguintes; use {@link Individual#Individual(Individual)}
+     * para reter um indivíduo.
+     */
     public List<Individual> getPopulation() {
         return new ArrayList<>(population);
     }
@@ -374,10 +1032,24 @@ public class MOBRKGA {
         return new ArrayList<>(hyperVolumeHistory);
     }
     
+    /**
+     * Hipervolume da frente de todas as soluções aceitas pelo arquivo até agora
+     */
+    public double getHypervolume() {
+        return hypervolume.getHypervolume();
+    }
+    
     public List<Integer> getArchiveSizeHistory() {
         return new ArrayList<>(archiveSizeHistory);
     }
     
+    /**
+     * Número de decodificações realizadas na última execução
+     */
+    public long getEvaluations() {
+        return progress != null ? progress.getEvaluations() : 0L;
+    }
+    
     public int getCurrentGeneration() {
         return currentGeneration;
     }
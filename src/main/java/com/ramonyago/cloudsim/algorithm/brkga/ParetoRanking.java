@@ -0,0 +1,173 @@
+package com.ramonyago.cloudsim.algorithm.brkga;
+
+import java.util.Arrays;
+
+/**
+ * Classificação por frentes de não-dominância e crowding distance para os dois
+ * objetivos do problema (minimizar custo, maximizar confiabilidade).
+ *
+ * Usa o algoritmo de varredura de Jensen: após ordenar por custo, cada ponto é
+ * comparado apenas com o último membro de cada frente, localizado por busca
+ * binária, em O(N log N). Os resultados são escritos em arrays primitivos.
+ */
+public final class ParetoRanking {
+    
+    private ParetoRanking() {
+    }
+    
+    /**
+     * Atribui a cada ponto o índice (a partir de 0) da sua frente de não-dominância
+     * @return número de frentes
+     */
+    public static int assignRanks(double[] cost, double[] reliability, int[] rank) {
+        int n = cost.length;
+        int[] order = identity(n);
+        // Custo crescente; em empate, confiabilidade decrescente
+        sort(order, 0, n, (a, b) -> {
+            int c = Double.compare(cost[a], cost[b]);
+            return c != 0 ? c : Double.compare(reliability[b], reliability[a]);
+        });
+        
+        int[] frontLast = new int[n]; // último ponto inserido em cada frente
+        int frontCount = 0;
+        for (int i = 0; i < n; i++) {
+            int p = order[i];
+            // Primeira frente cujo último membro não domina p
+            int lo = 0;
+            int hi = frontCount;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (dominates(frontLast[mid], p, cost, reliability)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            rank[p] = lo;
+            frontLast[lo] = p;
+            if (lo == frontCount) {
+                frontCount++;
+            }
+        }
+        return frontCount;
+    }
+    
+    /**
+     * Calcula a crowding distance de cada ponto dentro da sua frente.
+     * Frentes com até dois pontos e os extremos de cada objetivo recebem Double.MAX_VALUE.
+     */
+    public static void assignCrowding(double[] cost, double[] reliability, int[] rank, int frontCount,
+                               double[] crowding) {
+        int n = cost.length;
+        
+        // Agrupa os pontos por frente (counting sort estável)
+        int[] frontStart = new int[frontCount + 1];
+        for (int i = 0; i < n; i++) {
+            frontStart[rank[i] + 1]++;
+        }
+        for (int f = 0; f < frontCount; f++) {
+            frontStart[f + 1] += frontStart[f];
+        }
+        int[] members = new int[n];
+        int[] next = Arrays.copyOf(frontStart, frontCount);
+        for (int i = 0; i < n; i++) {
+            members[next[rank[i]]++] = i;
+        }
+        
+        for (int f = 0; f < frontCount; f++) {
+            int from = frontStart[f];
+            int to = frontStart[f + 1];
+            if (to - from <= 2) {
+                for (int i = from; i < to; i++) {
+                    crowding[members[i]] = Double.MAX_VALUE;
+                }
+                continue;
+            }
+            for (int i = from; i < to; i++) {
+                crowding[members[i]] = 0.0;
+            }
+            accumulateCrowding(members, from, to, cost, crowding);
+            accumulateCrowding(members, from, to, reliability, crowding);
+        }
+    }
+    
+    private static void accumulateCrowding(int[] members, int from, int to, double[] objective,
+                                           double[] crowding) {
+        sort(members, from, to, (a, b) -> Double.compare(objective[a], objective[b]));
+        
+        // Extremos têm distância infinita
+        crowding[members[from]] = Double.MAX_VALUE;
+        crowding[members[to - 1]] = Double.MAX_VALUE;
+        
+        double range = objective[members[to - 1]] - objective[members[from]];
+        if (range > 0) {
+            for (int i = from + 1; i < to - 1; i++) {
+                crowding[members[i]] += (objective[members[i + 1]] - objective[members[i - 1]]) / range;
+            }
+        }
+    }
+    
+    /**
+     * Verifica se o ponto a domina o ponto b
+     */
+    private static boolean dominates(int a, int b, double[] cost, double[] reliability) {
+        return dominates(cost[a], reliability[a], cost[b], reliability[b]);
+    }
+    
+    /**
+     * Verifica se o ponto (costA, reliabilityA) domina o ponto (costB, reliabilityB)
+     */
+    static boolean dominates(double costA, double reliabilityA, double costB, double reliabilityB) {
+        return costA <= costB && reliabilityA >= reliabilityB
+               && (costA < costB || reliabilityA > reliabilityB);
+    }
+    
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+    
+    /**
+     * Merge sort estável de índices no intervalo [from, to)
+     */
+    private static void sort(int[] indices, int from, int to, IndexComparator comparator) {
+        if (to - from < 2) {
+            return;
+        }
+        int[] buffer = new int[to - from];
+        mergeSort(indices, buffer, from, to, comparator);
+    }
+    
+    private static void mergeSort(int[] indices, int[] buffer, int from, int to, IndexComparator comparator) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(indices, buffer, from, mid, comparator);
+        mergeSort(indices, buffer, mid, to, comparator);
+        if (comparator.compare(indices[mid - 1], indices[mid]) <= 0) {
+            return; // já ordenado
+        }
+        
+        int length = to - from;
+        System.arraycopy(indices, from, buffer, 0, length);
+        int left = 0;
+        int leftEnd = mid - from;
+        int right = leftEnd;
+        for (int k = from; k < to; k++) {
+            if (left < leftEnd && (right >= length || comparator.compare(buffer[left], buffer[right]) <= 0)) {
+                indices[k] = buffer[left++];
+            } else {
+                indices[k] = buffer[right++];
+            }
+        }
+    }
+    
+    @FunctionalInterface
+    private interface IndexComparator {
+        int compare(int a, int b);
+    }
+}
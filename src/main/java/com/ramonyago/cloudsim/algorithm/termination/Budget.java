@@ -0,0 +1,107 @@
+package com.ramonyago.cloudsim.algorithm.termination;
+
+import java.time.Duration;
+
+/**
+ * Orçamento global (tempo de parede e avaliações) de uma otimização em fases.
+ * Cada fase recebe uma fração do que resta no momento em que começa; o que uma fase
+ * não usa fica automaticamente disponível para as seguintes.
+ */
+public final class Budget {
+    private static final long UNLIMITED = Long.MAX_VALUE;
+    
+    private final long deadlineNanos;
+    private final boolean timeLimited;
+    private final long maxEvaluations;
+    private long consumedEvaluations;
+    
+    /**
+     * Inicia o orçamento agora
+     * @param timeLimit tempo total, ou null para ilimitado
+     * @param maxEvaluations avaliações totais, ou Long.MAX_VALUE para ilimitado
+     */
+    public Budget(Duration timeLimit, long maxEvaluations) {
+        if (timeLimit != null && timeLimit.isNegative()) {
+            throw new IllegalArgumentException("Time limit must not be negative");
+        }
+        if (maxEvaluations < 0) {
+            throw new IllegalArgumentException("Evaluation budget must not be negative");
+        }
+        this.timeLimited = timeLimit != null;
+        this.deadlineNanos = timeLimited ? System.nanoTime() + timeLimit.toNanos() : 0L;
+        this.maxEvaluations = maxEvaluations;
+    }
+    
+    public static Budget unlimited() {
+        return new Budget(null, UNLIMITED);
+    }
+    
+    /**
+     * Critério de parada de uma fase que pode usar a fração share (0, 1] do tempo e
+     * das avaliações restantes. A última fase deve usar share = 1.
+     */
+    public TerminationCriterion allocate(double share) {
+        if (share <= 0 || share > 1) {
+            throw new IllegalArgumentException("Budget share must be in (0, 1]");
+        }
+        TerminationCriterion criterion = TerminationCriterion.never();
+        if (timeLimited) {
+            long phaseNanos = (long) (getRemainingNanos() * share);
+            criterion = criterion.or(TerminationCriterion.deadline(System.nanoTime() + phaseNanos));
+        }
+        if (maxEvaluations != UNLIMITED) {
+            criterion = criterion.or(TerminationCriterion.evaluationBudget(
+                    (long) Math.ceil(getRemainingEvaluations() * share)));
+        }
+        return criterion;
+    }
+    
+    /**
+     * Critério de cada uma de parts execuções simultâneas que dividem a fração share:
+     * o prazo de parede é comum a todas, e as avaliações são repartidas igualmente
+     */
+    public TerminationCriterion allocateConcurrent(double share, int parts) {
+        if (share <= 0 || share > 1) {
+            throw new IllegalArgumentException("Budget share must be in (0, 1]");
+        }
+        if (parts <= 0) {
+            throw new IllegalArgumentException("Number of concurrent runs must be positive");
+        }
+        TerminationCriterion criterion = TerminationCriterion.never();
+        if (timeLimited) {
+            long phaseNanos = (long) (getRemainingNanos() * share);
+            criterion = criterion.or(TerminationCriterion.deadline(System.nanoTime() + phaseNanos));
+        }
+        if (maxEvaluations != UNLIMITED) {
+            criterion = criterion.or(TerminationCriterion.evaluationBudget(
+                    (long) Math.ceil(getRemainingEvaluations() * share / parts)));
+        }
+        return criterion;
+    }
+    
+    /**
+     * Registra as avaliações usadas por uma fase encerrada
+     */
+    public void consume(long evaluations) {
+        consumedEvaluations += evaluations;
+    }
+    
+    public long getRemainingNanos() {
+        return timeLimited ? Math.max(0L, deadlineNanos - System.nanoTime()) : UNLIMITED;
+    }
+    
+    public long getRemainingEvaluations() {
+        return maxEvaluations == UNLIMITED ? UNLIMITED : Math.max(0L, maxEvaluations - consumedEvaluations);
+    }
+    
+    public boolean isExhausted() {
+        return getRemainingNanos() == 0 || getRemainingEvaluations() == 0;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Budget{remainingMs=%s, remainingEvaluations=%s}",
+                           timeLimited ? String.valueOf(getRemainingNanos() / 1_000_000) : "unlimited",
+                           maxEvaluations == UNLIMITED ? "unlimited" : String.valueOf(getRemainingEvaluations()));
+    }
+}
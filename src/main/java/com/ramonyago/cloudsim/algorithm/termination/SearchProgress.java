@@ -0,0 +1,71 @@
+package com.ramonyago.cloudsim.algorithm.termination;
+
+import java.util.Arrays;
+
+/**
+ * Progresso de uma fase de busca, consultado pelos critérios de parada.
+ * Cada fase (BRKGA, busca tabu) cria o seu ao iniciar e o atualiza a cada
+ * geração/iteração; não é thread-safe.
+ */
+public final class SearchProgress {
+    private final long startNanos;
+    private int iterations;
+    private long evaluations;
+    private int lastArchiveChange;
+    private double[] hypervolumes;
+    
+    public SearchProgress() {
+        this.startNanos = System.nanoTime();
+        this.hypervolumes = new double[16];
+    }
+    
+    /**
+     * Contabiliza avaliações de soluções (decodificações ou movimentos avaliados)
+     */
+    public void addEvaluations(long count) {
+        evaluations += count;
+    }
+    
+    /**
+     * Registra o fim de uma geração/iteração
+     * @param archiveChanged se o arquivo de Pareto aceitou alguma solução
+     * @param hypervolume hipervolume atual, ou NaN se a fase não o calcula
+     */
+    public void recordIteration(boolean archiveChanged, double hypervolume) {
+        if (iterations == hypervolumes.length) {
+            hypervolumes = Arrays.copyOf(hypervolumes, iterations * 2);
+        }
+        hypervolumes[iterations] = hypervolume;
+        iterations++;
+        if (archiveChanged) {
+            lastArchiveChange = iterations;
+        }
+    }
+    
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+    
+    public int getIterations() {
+        return iterations;
+    }
+    
+    public long getEvaluations() {
+        return evaluations;
+    }
+    
+    /**
+     * Número de iterações consecutivas, até a atual, sem alteração do arquivo
+     */
+    public int getIterationsSinceArchiveChange() {
+        return iterations - lastArchiveChange;
+    }
+    
+    /**
+     * Hipervolume registrado iterationsAgo iterações atrás (0 = última), ou NaN
+     */
+    public double getHypervolume(int iterationsAgo) {
+        int index = iterations - 1 - iterationsAgo;
+        return index >= 0 ? hypervolumes[index] : Double.NaN;
+    }
+}
@@ -0,0 +1,89 @@
+package com.ramonyago.cloudsim.algorithm.termination;
+
+import java.time.Duration;
+
+/**
+ * Critério de parada de uma fase de busca. Os critérios não guardam estado: tudo o
+ * que consultam vem do {@link SearchProgress} da fase, de modo que uma mesma instância
+ * pode ser reutilizada entre execuções e ilhas.
+ *
+ * O limite de gerações/iterações de cada algoritmo continua valendo; estes critérios
+ * permitem encerrar antes dele.
+ */
+@FunctionalInterface
+public interface TerminationCriterion {
+    
+    boolean isMet(SearchProgress progress);
+    
+    /**
+     * Combina os critérios: para quando qualquer um for atendido
+     */
+    default TerminationCriterion or(TerminationCriterion other) {
+        return progress -> isMet(progress) || other.isMet(progress);
+    }
+    
+    static TerminationCriterion never() {
+        return progress -> false;
+    }
+    
+    static TerminationCriterion anyOf(TerminationCriterion... criteria) {
+        return progress -> {
+            for (TerminationCriterion criterion : criteria) {
+                if (criterion.isMet(progress)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+    
+    /**
+     * Prazo absoluto, em termos de {@link System#nanoTime()}
+     */
+    static TerminationCriterion deadline(long deadlineNanos) {
+        return progress -> System.nanoTime() - deadlineNanos >= 0;
+    }
+    
+    /**
+     * Tempo máximo de parede a partir do início da fase
+     */
+    static TerminationCriterion timeLimit(Duration limit) {
+        long limitNanos = limit.toNanos();
+        return progress -> progress.getElapsedNanos() >= limitNanos;
+    }
+    
+    /**
+     * Número máximo de avaliações na fase
+     */
+    static TerminationCriterion evaluationBudget(long maxEvaluations) {
+        if (maxEvaluations < 0) {
+            throw new IllegalArgumentException("Evaluation budget must not be negative");
+        }
+        return progress -> progress.getEvaluations() >= maxEvaluations;
+    }
+    
+    /**
+     * Para quando o hipervolume não melhora mais que minImprovement ao longo das
+     * últimas window iterações. Fases que não informam hipervolume nunca param por ele.
+     */
+    static TerminationCriterion hypervolumeStagnation(int window, double minImprovement) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Stagnation window must be positive");
+        }
+        return progress -> {
+            double current = progress.getHypervolume(0);
+            double past = progress.getHypervolume(window);
+            return !Double.isNaN(current) && !Double.isNaN(past) && current - past <= minImprovement;
+        };
+    }
+    
+    /**
+     * Para quando o arquivo de Pareto não muda por iterations iterações seguidas
+     */
+    static TerminationCriterion archiveUnchanged(int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Archive stagnation length must be positive");
+        }
+        return progress -> progress.getIterationsSinceArchiveChange() >= iterations;
+    }
+}
@@ -0,0 +1,136 @@
+package com.ramonyago.cloudsim.io;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grava checkpoints em uma thread de fundo, para que a busca só pague a captura do
+ * estado. O conteúdo é escrito em fluxo (buffer de 64 KiB) num arquivo temporário ao
+ * lado do destino, que então o substitui; um checkpoint interrompido nunca corrompe o
+ * anterior.
+ *
+ * Há no máximo uma gravação em andamento: quem captura o estado por referência (sem
+ * cópia) deve chamar {@link #awaitIdle()} antes de modificá-lo.
+ */
+public class AsyncCheckpointWriter implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncCheckpointWriter.class);
+    private static final int BUFFER_SIZE = 1 << 16;
+    
+    /**
+     * Conteúdo de um checkpoint, escrito na thread de gravação
+     */
+    @FunctionalInterface
+    public interface Payload {
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+    
+    private final Path file;
+    private final Path temporaryFile;
+    private final ExecutorService executor;
+    private Future<?> pending;
+    private int written;
+    
+    public AsyncCheckpointWriter(Path file) {
+        this.file = file;
+        this.temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Indica se ainda há uma gravação em andamento
+     */
+    public synchronized boolean isBusy() {
+        return pending != null && !pending.isDone();
+    }
+    
+    /**
+     * Agenda a gravação, após a anterior
+     */
+    public synchronized void submit(Payload payload) {
+        pending = executor.submit(() -> write(payload));
+    }
+    
+    /**
+     * Aguarda a gravação em andamento, se houver
+     */
+    public void awaitIdle() {
+        Future<?> current;
+        synchronized (this) {
+            current = pending;
+        }
+        if (current == null) {
+            return;
+        }
+        try {
+            current.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Falhas já foram registradas em write()
+        }
+    }
+    
+    private void write(Payload payload) {
+        long start = System.nanoTime();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryFile), BUFFER_SIZE))) {
+                payload.writeTo(out);
+            }
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            synchronized (this) {
+                written++;
+            }
+            logger.debug("Checkpoint written to {} in {} ms", file,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to write checkpoint {}: {}", file, e.toString());
+        }
+    }
+    
+    public Path getFile() {
+        return file;
+    }
+    
+    /**
+     * Número de checkpoints gravados com sucesso
+     */
+    public synchronized int getWrittenCount() {
+        return written;
+    }
+    
+    /**
+     * Conclui a gravação pendente e encerra a thread
+     */
+    @Override
+    public void close() {
+        awaitIdle();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,149 @@
+package com.ramonyago.cloudsim.io;
+
+import com.ramonyago.cloudsim.model.AllocationSolution;
+import com.ramonyago.cloudsim.model.CompiledInstance;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Blocos comuns dos arquivos de checkpoint binários (big-endian, via Data*Stream).
+ *
+ * Cada arquivo começa com um cabeçalho (magic, versão, número de VMs e hosts e um
+ * hash dos ids) que impede retomar um checkpoint sobre outra instância. Soluções são
+ * gravadas como o host (índice denso, -1 = não alocada) de cada VM e reconstruídas
+ * sobre a instância compilada na leitura.
+ */
+public final class CheckpointCodec {
+    public static final int VERSION = 3;
+    
+    private CheckpointCodec() {
+    }
+    
+    public static void writeHeader(DataOutput out, int magic, CompiledInstance instance) throws IOException {
+        out.writeInt(magic);
+        out.writeInt(VERSION);
+        out.writeInt(instance.getVMCount());
+        out.writeInt(instance.getHostCount());
+        out.writeLong(identityHash(instance));
+    }
+    
+    /**
+     * Lê e valida o cabeçalho
+     * @throws IOException se o arquivo não for do tipo esperado ou for de outra instância
+     */
+    public static void readHeader(DataInput in, int magic, CompiledInstance instance) throws IOException {
+        if (in.readInt() != magic) {
+            throw new IOException("Not a checkpoint of the expected type");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported checkpoint version: " + version);
+        }
+        int vmCount = in.readInt();
+        int hostCount = in.readInt();
+        long hash = in.readLong();
+        if (vmCount != instance.getVMCount() || hostCount != instance.getHostCount()
+                || hash != identityHash(instance)) {
+            throw new IOException("Checkpoint was written for a different problem instance");
+        }
+    }
+    
+    /**
+     * Grava o estado completo do gerador (semente interna e gaussiana pendente),
+     * usando a serialização do próprio {@link Random}
+     */
+    public static void writeRandom(DataOutput out, Random random) throws IOException {
+        writeBytes(out, serializeRandom(random));
+    }
+    
+    /**
+     * Grava um estado de gerador já capturado com {@link #serializeRandom(Random)}
+     */
+    public static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    /**
+     * Captura o estado do gerador; é barato e permite gravar depois, em outra thread
+     */
+    public static byte[] serializeRandom(Random random) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(random);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+    
+    public static Random readRandom(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (Random) objectIn.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Invalid random generator state", e);
+        }
+    }
+    
+    /**
+     * Grava as soluções com os índices de instance (soluções de outra compilação da
+     * mesma instância são convertidas pelos ids)
+     */
+    public static void writeSolutions(DataOutput out, List<AllocationSolution> solutions,
+                                      CompiledInstance instance) throws IOException {
+        out.writeInt(solutions.size());
+        for (AllocationSolution solution : solutions) {
+            AllocationSolution rebased = solution.rebase(instance);
+            for (int v = 0; v < instance.getVMCount(); v++) {
+                out.writeInt(rebased.getHostIndexForVM(v));
+            }
+        }
+    }
+    
+    public static List<AllocationSolution> readSolutions(DataInput in, CompiledInstance instance) throws IOException {
+        int count = in.readInt();
+        List<AllocationSolution> solutions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AllocationSolution solution = new AllocationSolution(instance);
+            for (int v = 0; v < instance.getVMCount(); v++) {
+                int host = in.readInt();
+                if (host >= instance.getHostCount()) {
+                    throw new IOException("Host index out of range: " + host);
+                }
+                if (host >= 0) {
+                    solution.allocate(v, host);
+                }
+            }
+            solutions.add(solution);
+        }
+        return solutions;
+    }
+    
+    public static void writeDoubles(DataOutput out, double[] values, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            out.writeDouble(values[i]);
+        }
+    }
+    
+    public static void readDoubles(DataInput in, double[] values, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            values[i] = in.readDouble();
+        }
+    }
+    
+    private static long identityHash(CompiledInstance instance) {
+        long hash = 17;
+        for (int v = 0; v < instance.getVMCount(); v++) {
+            hash = hash * 31 + instance.getVM(v).getVmId();
+        }
+        for (int h = 0; h < instance.getHostCount(); h++) {
+            hash = hash * 31 + instance.getHost(h).getHostId();
+        }
+        return hash;
+    }
+}
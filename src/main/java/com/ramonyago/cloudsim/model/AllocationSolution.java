@@ -7,10 +7,19 @@ import java.util.*;
  * incluindo cálculos de múltiplos objetivos e verificação de restrições.
  */
 public class AllocationSolution {
-    private final Map<VM, Host> vmToHost; // x_vh: alocação de VMs
-    private final Set<Host> activeHosts; // y_h: hosts ativos
-    private final List<VM> vms;
-    private final List<Host> hosts;
+    private static final ResourceType[] RESOURCES = ResourceType.values();
+    private static final int UNALLOCATED = -1;
+    
+    private final CompiledInstance instance;
+    
+    // Representação compacta por índices densos
+    // Os arrays são divididos em blocos com cópia sob escrita: cópias de uma solução
+    // compartilham os blocos não alterados com a solução de origem
+    private final ChunkedIntArray vmToHostIndex;      // x_vh: host de cada VM (-1 = não alocada)
+    private final ChunkedIntArray hostVmCount;        // y_h: host ativo quando contagem > 0
+    private final ChunkedDoubleArray hostResidual;    // capacidade residual por host e recurso: [h * |R| + r]
+    private int allocatedVmCount;
+    private long fingerprint; // hash Zobrist da alocação, atualizado incrementalmente
     
     // Valores dos objetivos
     private Double totalCost;
@@ -18,38 +27,81 @@ public class AllocationSolution {
     private Double energyConsumption;
     private Double loadBalance;
     
-    // Métricas de violação de restrições
-    private boolean feasible;
-    private double constraintViolation;
+    // Métricas de violação de restrições, mantidas incrementalmente
+    private int capacityViolationCount;       // pares (host, recurso) acima da capacidade
+    private int reliabilityViolationCount;    // VMs abaixo da confiabilidade mínima
+    private double capacityViolation;
+    private double reliabilityViolation;
     
     public AllocationSolution(List<VM> vms, List<Host> hosts) {
-        this.vms = new ArrayList<>(vms);
-        this.hosts = new ArrayList<>(hosts);
-        this.vmToHost = new HashMap<>();
-        this.activeHosts = new HashSet<>();
-        this.feasible = true;
-        this.constraintViolation = 0.0;
+        this(ProblemInstance.compile(vms, hosts));
     }
     
+    public AllocationSolution(CompiledInstance instance) {
+        this.instance = instance;
+        this.vmToHostIndex = new ChunkedIntArray(instance.getVMCount(), UNALLOCATED);
+        this.hostVmCount = new ChunkedIntArray(instance.getHostCount(), 0);
+        this.hostResidual = new ChunkedDoubleArray(instance.getHostCount() * RESOURCES.length, 0.0);
+        for (int h = 0; h < hostVmCount.length(); h++) {
+            resetResidual(h);
+        }
+        this.allocatedVmCount = 0;
+        
+        // Inicialmente nenhuma VM está alocada (confiabilidade 0)
+        for (int v = 0; v < vmToHostIndex.length(); v++) {
+            updateVmViolation(v, 1);
+        }
+    }
+    
+    /**
+     * Cópia persistente: a nova solução compartilha a estrutura da original e
+     * cada uma copia apenas os blocos que vier a alterar.
+     */
     public AllocationSolution(AllocationSolution other) {
-        this.vms = new ArrayList<>(other.vms);
-        this.hosts = new ArrayList<>(other.hosts);
-        this.vmToHost = new HashMap<>(other.vmToHost);
-        this.activeHosts = new HashSet<>(other.activeHosts);
+        this.instance = other.instance; // imutável, compartilhado entre cópias
+        this.vmToHostIndex = new ChunkedIntArray(other.vmToHostIndex);
+        this.hostVmCount = new ChunkedIntArray(other.hostVmCount);
+        this.hostResidual = new ChunkedDoubleArray(other.hostResidual);
+        this.allocatedVmCount = other.allocatedVmCount;
+        this.fingerprint = other.fingerprint;
         this.totalCost = other.totalCost;
         this.totalReliability = other.totalReliability;
         this.energyConsumption = other.energyConsumption;
         this.loadBalance = other.loadBalance;
-        this.feasible = other.feasible;
-        this.constraintViolation = other.constraintViolation;
+        this.capacityViolationCount = other.capacityViolationCount;
+        this.reliabilityViolationCount = other.reliabilityViolationCount;
+        this.capacityViolation = other.capacityViolation;
+        this.reliabilityViolation = other.reliabilityViolation;
     }
     
     /**
      * Aloca uma VM a um host
      */
     public void allocateVM(VM vm, Host host) {
-        vmToHost.put(vm, host);
-        activeHosts.add(host);
+        allocate(instance.indexOf(vm), instance.indexOf(host));
+    }
+    
+    /**
+     * Aloca a VM de índice vmIndex ao host de índice hostIndex
+     */
+    public void allocate(int vmIndex, int hostIndex) {
+        if (vmToHostIndex.get(vmIndex) != UNALLOCATED) {
+            release(vmIndex);
+        }
+        updateVmViolation(vmIndex, -1);
+        updateHostViolation(hostIndex, -1);
+        
+        vmToHostIndex.set(vmIndex, hostIndex);
+        hostVmCount.add(hostIndex, 1);
+        allocatedVmCount++;
+        fingerprint ^= instance.getZobristKey(vmIndex, hostIndex);
+        int hostBase = hostIndex * RESOURCES.length;
+        for (int r = 0; r < RESOURCES.length; r++) {
+            hostResidual.add(hostBase + r, -instance.getDemand(r, vmIndex));
+        }
+        
+        updateHostViolation(hostIndex, 1);
+        updateVmViolation(vmIndex, 1);
         invalidateObjectiveCache();
     }
     
@@ -57,17 +109,84 @@ public class AllocationSolution {
      * Remove a alocação de uma VM
      */
     public void deallocateVM(VM vm) {
-        Host host = vmToHost.remove(vm);
-        if (host != null) {
-            // Verifica se o host ainda tem VMs alocadas
-            boolean hostStillUsed = vmToHost.values().contains(host);
-            if (!hostStillUsed) {
-                activeHosts.remove(host);
-            }
+        int vmIndex = instance.indexOfVMId(vm.getVmId());
+        if (vmIndex >= 0) {
+            deallocate(vmIndex);
+        }
+    }
+    
+    /**
+     * Remove a alocação da VM de índice vmIndex
+     */
+    public void deallocate(int vmIndex) {
+        if (vmToHostIndex.get(vmIndex) != UNALLOCATED) {
+            release(vmIndex);
         }
         invalidateObjectiveCache();
     }
     
+    private void release(int vmIndex) {
+        int hostIndex = vmToHostIndex.get(vmIndex);
+        updateVmViolation(vmIndex, -1);
+        updateHostViolation(hostIndex, -1);
+        
+        vmToHostIndex.set(vmIndex, UNALLOCATED);
+        hostVmCount.add(hostIndex, -1);
+        allocatedVmCount--;
+        fingerprint ^= instance.getZobristKey(vmIndex, hostIndex);
+        int hostBase = hostIndex * RESOURCES.length;
+        for (int r = 0; r < RESOURCES.length; r++) {
+            hostResidual.add(hostBase + r, instance.getDemand(r, vmIndex));
+        }
+        if (hostVmCount.get(hostIndex) == 0) {
+            resetResidual(hostIndex); // evita resíduos de ponto flutuante em hosts vazios
+        }
+        
+        updateHostViolation(hostIndex, 1);
+        updateVmViolation(vmIndex, 1);
+    }
+    
+    /**
+     * Adiciona (sign = 1) ou remove (sign = -1) a contribuição do host para a violação
+     * de capacidade, em O(|R|)
+     */
+    private void updateHostViolation(int hostIndex, int sign) {
+        int hostBase = hostIndex * RESOURCES.length;
+        for (int r = 0; r < RESOURCES.length; r++) {
+            double residual = hostResidual.get(hostBase + r);
+            if (residual < 0) {
+                capacityViolationCount += sign;
+                capacityViolation += sign * (-residual / instance.getCap(r, hostIndex));
+            }
+        }
+        if (capacityViolationCount == 0) {
+            capacityViolation = 0.0; // descarta erro acumulado de ponto flutuante
+        }
+    }
+    
+    /**
+     * Adiciona (sign = 1) ou remove (sign = -1) a contribuição da VM para a violação
+     * de confiabilidade mínima
+     */
+    private void updateVmViolation(int vmIndex, int sign) {
+        double minRel = instance.getMinRel(vmIndex);
+        double vmReliability = getVMReliability(vmIndex);
+        if (vmReliability < minRel) {
+            reliabilityViolationCount += sign;
+            reliabilityViolation += sign * (minRel - vmReliability);
+        }
+        if (reliabilityViolationCount == 0) {
+            reliabilityViolation = 0.0;
+        }
+    }
+    
+    private void resetResidual(int hostIndex) {
+        int hostBase = hostIndex * RESOURCES.length;
+        for (int r = 0; r < RESOURCES.length; r++) {
+            hostResidual.set(hostBase + r, instance.getCap(r, hostIndex));
+        }
+    }
+    
     /**
      * Realoca uma VM para outro host
      */
@@ -77,22 +196,187 @@ public class AllocationSolution {
     }
     
     public Map<VM, Host> getVmToHost() {
-        return new HashMap<>(vmToHost);
+        Map<VM, Host> view = new HashMap<>();
+        for (int v = 0; v < vmToHostIndex.length(); v++) {
+            if (vmToHostIndex.get(v) != UNALLOCATED) {
+                view.put(instance.getVM(v), instance.getHost(vmToHostIndex.get(v)));
+            }
+        }
+        return view;
     }
     
     public Set<Host> getActiveHosts() {
-        return new HashSet<>(activeHosts);
+        Set<Host> active = new HashSet<>();
+        for (int h = 0; h < hostVmCount.length(); h++) {
+            if (hostVmCount.get(h) > 0) {
+                active.add(instance.getHost(h));
+            }
+        }
+        return active;
     }
     
     public Host getHostForVM(VM vm) {
-        return vmToHost.get(vm);
+        int vmIndex = instance.indexOfVMId(vm.getVmId());
+        if (vmIndex < 0 || vmToHostIndex.get(vmIndex) == UNALLOCATED) {
+            return null;
+        }
+        return instance.getHost(vmToHostIndex.get(vmIndex));
     }
     
     public List<VM> getVmsOnHost(Host host) {
-        return vmToHost.entrySet().stream()
-                .filter(entry -> entry.getValue().equals(host))
-                .map(Map.Entry::getKey)
-                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        List<VM> result = new ArrayList<>();
+        int hostIndex = instance.indexOfHostId(host.getHostId());
+        if (hostIndex < 0 || hostVmCount.get(hostIndex) == 0) {
+            return result;
+        }
+        for (int v = 0; v < vmToHostIndex.length() && result.size() < hostVmCount.get(hostIndex); v++) {
+            if (vmToHostIndex.get(v) == hostIndex) {
+                result.add(instance.getVM(v));
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Retorna esta solução expressa sobre outra instância compilada, associando
+     * VMs e hosts pelos ids. VMs ou hosts inexistentes no destino são ignorados.
+     */
+    public AllocationSolution rebase(CompiledInstance target) {
+        if (target == instance) {
+            return this;
+        }
+        AllocationSolution rebased = new AllocationSolution(target);
+        for (int v = 0; v < vmToHostIndex.length(); v++) {
+            if (vmToHostIndex.get(v) == UNALLOCATED) {
+                continue;
+            }
+            int vmIndex = target.indexOfVMId(instance.getVM(v).getVmId());
+            int hostIndex = target.indexOfHostId(instance.getHost(vmToHostIndex.get(v)).getHostId());
+            if (vmIndex >= 0 && hostIndex >= 0) {
+                rebased.allocate(vmIndex, hostIndex);
+            }
+        }
+        return rebased;
+    }
+    
+    /**
+     * Índice denso de uma VM nesta solução
+     */
+    public int getVmIndex(VM vm) {
+        return instance.indexOf(vm);
+    }
+    
+    /**
+     * Índice denso de um host nesta solução
+     */
+    public int getHostIndex(Host host) {
+        return instance.indexOf(host);
+    }
+    
+    /**
+     * Índice do host da VM vmIndex, ou -1 se a VM não estiver alocada
+     */
+    public int getHostIndexForVM(int vmIndex) {
+        return vmToHostIndex.get(vmIndex);
+    }
+    
+    public int getHostVmCount(int hostIndex) {
+        return hostVmCount.get(hostIndex);
+    }
+    
+    public double getHostUsage(int hostIndex, ResourceType type) {
+        return instance.getCap(type.ordinal(), hostIndex) - getHostResidual(hostIndex, type);
+    }
+    
+    public double getHostResidual(int hostIndex, ResourceType type) {
+        return hostResidual.get(hostIndex * RESOURCES.length + type.ordinal());
+    }
+    
+    public double getHostResidual(int hostIndex, int resource) {
+        return hostResidual.get(hostIndex * RESOURCES.length + resource);
+    }
+    
+    /**
+     * Verifica se a VM cabe na capacidade residual do host, em O(|R|)
+     */
+    public boolean canFit(VM vm, Host host) {
+        return canFit(instance.indexOf(vm), instance.indexOf(host));
+    }
+    
+    public boolean canFit(int vmIndex, int hostIndex) {
+        int hostBase = hostIndex * RESOURCES.length;
+        for (int r = 0; r < RESOURCES.length; r++) {
+            if (instance.getDemand(r, vmIndex) > hostResidual.get(hostBase + r)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Verifica se a VM caberia no host caso leavingVmIndex, alocada nele, saísse,
+     * sem alterar a solução; usado para avaliar trocas e cadeias de ejeção em O(|R|)
+     */
+    public boolean canFitReplacing(int vmIndex, int hostIndex, int leavingVmIndex) {
+        int hostBase = hostIndex * RESOURCES.length;
+        for (int r = 0; r < RESOURCES.length; r++) {
+            if (instance.getDemand(r, vmIndex) >
+                    hostResidual.get(hostBase + r) + instance.getDemand(r, leavingVmIndex)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public int getAllocatedVMCount() {
+        return allocatedVmCount;
+    }
+    
+    /**
+     * Fingerprint Zobrist de 64 bits da alocação: soluções com a mesma alocação
+     * têm o mesmo fingerprint, independentemente da ordem das operações
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+    
+    /**
+     * Verifica se as duas soluções alocam cada VM no mesmo host
+     */
+    public boolean samePlacement(AllocationSolution other) {
+        if (fingerprint != other.fingerprint || allocatedVmCount != other.allocatedVmCount) {
+            return false;
+        }
+        if (instance != other.instance) {
+            return getVmToHost().equals(other.getVmToHost());
+        }
+        for (int v = 0; v < vmToHostIndex.length(); v++) {
+            if (vmToHostIndex.get(v) != other.vmToHostIndex.get(v)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Reaproveita objetivos já calculados para esta mesma alocação (por exemplo,
+     * obtidos de um cache indexado pelo fingerprint), evitando recalculá-los
+     */
+    public void setCachedObjectives(double totalCost, double totalReliability) {
+        this.totalCost = totalCost;
+        this.totalReliability = totalReliability;
+    }
+    
+    public List<VM> getVMs() {
+        return instance.getVMs();
+    }
+    
+    public List<Host> getHosts() {
+        return instance.getHosts();
+    }
+    
+    public CompiledInstance getCompiledInstance() {
+        return instance;
     }
     
     /**
@@ -100,9 +384,13 @@ public class AllocationSolution {
      */
     public double getTotalCost() {
         if (totalCost == null) {
-            totalCost = activeHosts.stream()
-                    .mapToDouble(Host::getCost)
-                    .sum();
+            double sum = 0.0;
+            for (int h = 0; h < hostVmCount.length(); h++) {
+                if (hostVmCount.get(h) > 0) {
+                    sum += instance.getCost(h);
+                }
+            }
+            totalCost = sum;
         }
         return totalCost;
     }
@@ -112,14 +400,14 @@ public class AllocationSolution {
      */
     public double getTotalReliability() {
         if (totalReliability == null) {
-            if (vmToHost.isEmpty()) {
+            if (allocatedVmCount == 0) {
                 totalReliability = 0.0;
             } else {
                 double sumReliability = 0.0;
-                for (VM vm : vms) {
-                    sumReliability += getVMReliability(vm);
+                for (int v = 0; v < vmToHostIndex.length(); v++) {
+                    sumReliability += getVMReliability(v);
                 }
-                totalReliability = sumReliability / vms.size();
+                totalReliability = sumReliability / vmToHostIndex.length();
             }
         }
         return totalReliability;
@@ -129,11 +417,55 @@ public class AllocationSolution {
      * Calcula a confiabilidade de uma VM específica
      */
     public double getVMReliability(VM vm) {
-        Host host = vmToHost.get(vm);
-        if (host == null) {
-            return 0.0; // VM não alocada
+        int vmIndex = instance.indexOfVMId(vm.getVmId());
+        return vmIndex >= 0 ? getVMReliability(vmIndex) : 0.0;
+    }
+    
+    private double getVMReliability(int vmIndex) {
+        return hostReliability(vmToHostIndex.get(vmIndex)); // 0.0 se a VM não estiver alocada
+    }
+    
+    /**
+     * Variação do custo total se a VM for movida para toHost (null = desalocar),
+     * sem copiar a solução. Considera ativação e desativação de hosts.
+     */
+    public double deltaCost(VM vm, Host toHost) {
+        return deltaCost(instance.indexOf(vm), toHost != null ? instance.indexOf(toHost) : UNALLOCATED);
+    }
+    
+    public double deltaCost(int vmIndex, int toHostIndex) {
+        int fromHostIndex = vmToHostIndex.get(vmIndex);
+        if (fromHostIndex == toHostIndex) {
+            return 0.0;
+        }
+        double delta = 0.0;
+        if (toHostIndex != UNALLOCATED && hostVmCount.get(toHostIndex) == 0) {
+            delta += instance.getCost(toHostIndex); // host passa a ser ativado
+        }
+        if (fromHostIndex != UNALLOCATED && hostVmCount.get(fromHostIndex) == 1) {
+            delta -= instance.getCost(fromHostIndex); // host fica vazio
+        }
+        return delta;
+    }
+    
+    /**
+     * Variação da confiabilidade média se a VM for movida para toHost (null = desalocar),
+     * sem copiar a solução.
+     */
+    public double deltaReliability(VM vm, Host toHost) {
+        return deltaReliability(instance.indexOf(vm), toHost != null ? instance.indexOf(toHost) : UNALLOCATED);
+    }
+    
+    public double deltaReliability(int vmIndex, int toHostIndex) {
+        int fromHostIndex = vmToHostIndex.get(vmIndex);
+        if (fromHostIndex == toHostIndex) {
+            return 0.0;
         }
-        return 1.0 - host.getFailProb();
+        return (hostReliability(toHostIndex) - hostReliability(fromHostIndex)) / vmToHostIndex.length();
+    }
+    
+    private double hostReliability(int hostIndex) {
+        return hostIndex == UNALLOCATED ? 0.0 : instance.getRel(hostIndex);
     }
     
     /**
@@ -141,9 +473,13 @@ public class AllocationSolution {
      */
     public double getEnergyConsumption() {
         if (energyConsumption == null) {
-            energyConsumption = activeHosts.stream()
-                    .mapToDouble(Host::getEnergy)
-                    .sum();
+            double sum = 0.0;
+            for (int h = 0; h < hostVmCount.length(); h++) {
+                if (hostVmCount.get(h) > 0) {
+                    sum += instance.getEnergy(h);
+                }
+            }
+            energyConsumption = sum;
         }
         return energyConsumption;
     }
@@ -153,17 +489,23 @@ public class AllocationSolution {
      */
     public double getLoadBalance() {
         if (loadBalance == null) {
-            if (activeHosts.isEmpty()) {
+            int activeCount = 0;
+            for (int h = 0; h < hostVmCount.length(); h++) {
+                if (hostVmCount.get(h) > 0) {
+                    activeCount++;
+                }
+            }
+            if (activeCount == 0) {
                 loadBalance = 0.0;
             } else {
                 // Calcula o desvio padrão da utilização de CPU entre hosts ativos
-                double[] cpuUtilizations = new double[activeHosts.size()];
+                double[] cpuUtilizations = new double[activeCount];
                 int i = 0;
-                for (Host host : activeHosts) {
-                    double totalCpuDemand = getVmsOnHost(host).stream()
-                            .mapToDouble(vm -> vm.getDemand(ResourceType.CPU))
-                            .sum();
-                    cpuUtilizations[i++] = totalCpuDemand / host.getCap(ResourceType.CPU);
+                for (int h = 0; h < hostVmCount.length(); h++) {
+                    if (hostVmCount.get(h) > 0) {
+                        cpuUtilizations[i++] = getHostUsage(h, ResourceType.CPU) /
+                                instance.getCap(ResourceType.CPU.ordinal(), h);
+                    }
                 }
                 
                 double mean = Arrays.stream(cpuUtilizations).average().orElse(0.0);
@@ -178,59 +520,17 @@ public class AllocationSolution {
     }
     
     /**
-     * Verifica se a solução é viável (todas as restrições satisfeitas)
+     * Verifica se a solução é viável (todas as restrições satisfeitas), em O(1)
      */
     public boolean isFeasible() {
-        calculateFeasibility();
-        return feasible;
+        return capacityViolationCount == 0 && reliabilityViolationCount == 0;
     }
     
     /**
-     * Retorna a violação total das restrições
+     * Retorna a violação total das restrições, em O(1)
      */
     public double getConstraintViolation() {
-        calculateFeasibility();
-        return constraintViolation;
-    }
-    
-    private void calculateFeasibility() {
-        feasible = true;
-        constraintViolation = 0.0;
-        
-        // Verifica restrições de capacidade dos hosts
-        for (Host host : activeHosts) {
-            Map<ResourceType, Double> hostUsage = new HashMap<>();
-            for (ResourceType type : ResourceType.values()) {
-                hostUsage.put(type, 0.0);
-            }
-            
-            // Soma demandas das VMs no host
-            for (VM vm : getVmsOnHost(host)) {
-                for (ResourceType type : ResourceType.values()) {
-                    double currentUsage = hostUsage.get(type);
-                    hostUsage.put(type, currentUsage + vm.getDemand(type));
-                }
-            }
-            
-            // Verifica violações de capacidade
-            for (ResourceType type : ResourceType.values()) {
-                double usage = hostUsage.get(type);
-                double capacity = host.getCap(type);
-                if (usage > capacity) {
-                    feasible = false;
-                    constraintViolation += (usage - capacity) / capacity;
-                }
-            }
-        }
-        
-        // Verifica restrições de confiabilidade mínima
-        for (VM vm : vms) {
-            double vmReliability = getVMReliability(vm);
-            if (vmReliability < vm.getMinRel()) {
-                feasible = false;
-                constraintViolation += vm.getMinRel() - vmReliability;
-            }
-        }
+        return capacityViolation + reliabilityViolation;
     }
     
     private void invalidateObjectiveCache() {
@@ -245,20 +545,30 @@ public class AllocationSolution {
      * Retorna: -1 se this domina other, 1 se other domina this, 0 se não-dominados
      */
     public int compareDominance(AllocationSolution other) {
+        return compareDominance(this.getTotalCost(), this.getTotalReliability(),
+                                other.getTotalCost(), other.getTotalReliability());
+    }
+    
+    /**
+     * Dominância de Pareto entre dois pontos (custo, confiabilidade), útil para
+     * comparar soluções candidatas avaliadas por delta sem materializá-las.
+     */
+    public static int compareDominance(double cost, double reliability,
+                                       double otherCost, double otherReliability) {
         boolean thisDominates = false;
         boolean otherDominates = false;
         
         // Objetivo 1: Minimizar custo
-        if (this.getTotalCost() < other.getTotalCost()) {
+        if (cost < otherCost) {
             thisDominates = true;
-        } else if (this.getTotalCost() > other.getTotalCost()) {
+        } else if (cost > otherCost) {
             otherDominates = true;
         }
         
         // Objetivo 2: Maximizar confiabilidade
-        if (this.getTotalReliability() > other.getTotalReliability()) {
+        if (reliability > otherReliability) {
             thisDominates = true;
-        } else if (this.getTotalReliability() < other.getTotalReliability()) {
+        } else if (reliability < otherReliability) {
             otherDominates = true;
         }
         
@@ -325,4 +635,5 @@ public class AllocationSolution {
         return String.format("Solution{cost=%.2f, reliability=%.3f, energy=%.2f, feasible=%s}",
                            getTotalCost(), getTotalReliability(), getEnergyConsumption(), isFeasible());
     }
-} 
\ No newline at end of file
+
+}
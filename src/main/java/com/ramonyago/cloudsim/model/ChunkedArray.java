@@ -0,0 +1,91 @@
+package com.ramonyago.cloudsim.model;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de blocos de tamanho fixo com cópia sob escrita, base de {@link ChunkedIntArray}
+ * e {@link ChunkedDoubleArray}; C é o tipo do bloco (int[] ou double[]).
+ *
+ * Cópias compartilham a tabela e os próprios blocos. A primeira escrita numa tabela
+ * compartilhada copia a tabela inteira, O(length / 64) referências, e cada bloco é
+ * copiado na primeira escrita nele. Não há cópia de caminho em O(log length): a tabela
+ * tem um só nível, e para os tamanhos do problema a sua cópia é bem menor que a dos valores.
+ *
+ * Copiar congela a marca da tabela da origem, o único campo da origem que a cópia
+ * escreve (sempre com o mesmo valor), de modo que várias threads podem copiar a mesma
+ * instância. Os valores da origem não mudam, mas ela também passa a compartilhar a
+ * tabela: a sua próxima escrita paga a mesma cópia da tabela que a cópia paga. A origem
+ * não pode ser escrita durante a cópia.
+ */
+abstract class ChunkedArray<C> {
+    static final int SHIFT = 6;
+    static final int CHUNK_SIZE = 1 << SHIFT;
+    static final int MASK = CHUNK_SIZE - 1;
+    
+    private final int length;
+    private C[] chunks;
+    private boolean[] owned; // null enquanto a tabela de blocos for compartilhada
+    private TableMark mark;  // marca da tabela própria; null enquanto compartilhada
+    
+    /**
+     * Assume a posse de chunks, com os blocos já alocados
+     */
+    ChunkedArray(int length, C[] chunks) {
+        this.length = length;
+        this.chunks = chunks;
+        this.owned = new boolean[chunks.length];
+        Arrays.fill(owned, true);
+        this.mark = new TableMark();
+    }
+    
+    /**
+     * Cópia em O(1): ambas as instâncias passam a compartilhar a tabela e todos os blocos
+     */
+    ChunkedArray(ChunkedArray<C> other) {
+        this.length = other.length;
+        this.chunks = other.chunks;
+        this.owned = null;
+        TableMark otherMark = other.mark;
+        if (otherMark != null) {
+            otherMark.frozen = true;
+        }
+    }
+    
+    static int chunkCount(int length) {
+        return (length + MASK) >>> SHIFT;
+    }
+    
+    static int chunkLength(int length, int chunk) {
+        return Math.min(CHUNK_SIZE, length - (chunk << SHIFT));
+    }
+    
+    final int length() {
+        return length;
+    }
+    
+    final C chunk(int chunk) {
+        return chunks[chunk];
+    }
+    
+    final C writableChunk(int chunk) {
+        if (owned == null || mark.frozen) {
+            chunks = chunks.clone();
+            owned = new boolean[chunks.length];
+            mark = new TableMark();
+        }
+        if (!owned[chunk]) {
+            chunks[chunk] = copyChunk(chunks[chunk]);
+            owned[chunk] = true;
+        }
+        return chunks[chunk];
+    }
+    
+    abstract C copyChunk(C chunk);
+    
+    /**
+     * Marca de uma tabela de blocos: congelada quando alguma cópia passa a compartilhá-la
+     */
+    private static final class TableMark {
+        volatile boolean frozen;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ramonyago.cloudsim.model;
+
+import java.util.Arrays;
+
+/**
+ * Array de doubles dividido em blocos de tamanho fixo com cópia sob escrita; o custo
+ * das cópias e das escritas está descrito em {@link ChunkedArray}.
+ */
+final class ChunkedDoubleArray extends ChunkedArray<double[]> {
+    
+    ChunkedDoubleArray(int length, double initialValue) {
+        super(length, allocate(length, initialValue));
+    }
+    
+    /**
+     * Cópia em O(1); congela a tabela da origem, que a copia na sua próxima escrita
+     */
+    ChunkedDoubleArray(ChunkedDoubleArray other) {
+        super(other);
+    }
+    
+    private static double[][] allocate(int length, double initialValue) {
+        double[][] chunks = new double[chunkCount(length)][];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = new double[chunkLength(length, c)];
+            if (initialValue != 0) {
+                Arrays.fill(chunks[c], initialValue);
+            }
+        }
+        return chunks;
+    }
+    
+    double get(int index) {
+        return chunk(index >>> SHIFT)[index & MASK];
+    }
+    
+    void set(int index, double value) {
+        writableChunk(index >>> SHIFT)[index & MASK] = value;
+    }
+    
+    void add(int index, double delta) {
+        writableChunk(index >>> SHIFT)[index & MASK] += delta;
+    }
+    
+    @Override
+    double[] copyChunk(double[] chunk) {
+        return chunk.clone();
+    }
+}
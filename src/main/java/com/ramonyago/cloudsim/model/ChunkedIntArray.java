@@ -0,0 +1,49 @@
+package com.ramonyago.cloudsim.model;
+
+import java.util.Arrays;
+
+/**
+ * Array de inteiros dividido em blocos de tamanho fixo com cópia sob escrita; o custo
+ * das cópias e das escritas está descrito em {@link ChunkedArray}.
+ */
+final class ChunkedIntArray extends ChunkedArray<int[]> {
+    
+    ChunkedIntArray(int length, int initialValue) {
+        super(length, allocate(length, initialValue));
+    }
+    
+    /**
+     * Cópia em O(1); congela a tabela da origem, que a copia na sua próxima escrita
+     */
+    ChunkedIntArray(ChunkedIntArray other) {
+        super(other);
+    }
+    
+    private static int[][] allocate(int length, int initialValue) {
+        int[][] chunks = new int[chunkCount(length)][];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = new int[chunkLength(length, c)];
+            if (initialValue != 0) {
+                Arrays.fill(chunks[c], initialValue);
+            }
+        }
+        return chunks;
+    }
+    
+    int get(int index) {
+        return chunk(index >>> SHIFT)[index & MASK];
+    }
+    
+    void set(int index, int value) {
+        writableChunk(index >>> SHIFT)[index & MASK] = value;
+    }
+    
+    void add(int index, int delta) {
+        writableChunk(index >>> SHIFT)[index & MASK] += delta;
+    }
+    
+    @Override
+    int[] copyChunk(int[] chunk) {
+        return chunk.clone();
+    }
+}
@@ -0,0 +1,354 @@
+package com.ramonyago.cloudsim.model;
+
+import java.util.*;
+
+/**
+ * Forma compilada e imutável de uma instância do problema.
+ * VMs e hosts recebem índices densos e seus atributos ficam em arrays primitivos
+ * (struct-of-arrays), de modo que os laços críticos do decodificador, da busca tabu
+ * e das soluções não acessam mapas nem copiam listas.
+ *
+ * Alterações feitas em VMs ou hosts após a compilação não são refletidas nesta forma;
+ * {@link ProblemInstance#compile()} recompila a instância alterada.
+ */
+public final class CompiledInstance {
+    private static final ResourceType[] RESOURCES = ResourceType.values();
+    
+    private final List<VM> vms;
+    private final List<Host> hosts;
+    
+    // Demandas e capacidades indexadas por [recurso][vm] e [recurso][host]
+    private final double[][] vmDemand;
+    private final double[][] hostCap;
+    
+    // Atributos das VMs
+    private final double[] vmMinRel;
+    private final double[] vmPrio;
+    
+    // Atributos dos hosts
+    private final double[] hostCost;
+    private final double[] hostFailProb;
+    private final double[] hostRel;
+    private final double[] hostEnergy;
+    
+    // Ids por índice e hash id -> índice
+    private final int[] vmIdByIndex;
+    private final int[] hostIdByIndex;
+    private final IdIndex vmIds;
+    private final IdIndex hostIds;
+    
+    // Bitset de hosts estaticamente elegíveis por VM (confiabilidade e capacidade bruta).
+    // VMs com o mesmo limiar de confiabilidade e as mesmas demandas compartilham a linha.
+    private final long[][] eligibleHosts;
+    private final int[] eligibleHostCount;
+    
+    private CompiledInstance(List<VM> vms, List<Host> hosts) {
+        this.vms = Collections.unmodifiableList(new ArrayList<>(vms));
+        this.hosts = Collections.unmodifiableList(new ArrayList<>(hosts));
+        
+        int vmCount = this.vms.size();
+        int hostCount = this.hosts.size();
+        
+        this.vmDemand = new double[RESOURCES.length][vmCount];
+        this.hostCap = new double[RESOURCES.length][hostCount];
+        this.vmMinRel = new double[vmCount];
+        this.vmPrio = new double[vmCount];
+        this.hostCost = new double[hostCount];
+        this.hostFailProb = new double[hostCount];
+        this.hostRel = new double[hostCount];
+        this.hostEnergy = new double[hostCount];
+        this.vmIdByIndex = new int[vmCount];
+        this.hostIdByIndex = new int[hostCount];
+        this.vmIds = new IdIndex(vmCount);
+        this.hostIds = new IdIndex(hostCount);
+        
+        for (int v = 0; v < vmCount; v++) {
+            VM vm = this.vms.get(v);
+            for (int r = 0; r < RESOURCES.length; r++) {
+                vmDemand[r][v] = vm.getDemand(RESOURCES[r]);
+            }
+            vmMinRel[v] = vm.getMinRel();
+            vmPrio[v] = vm.getPrio();
+            vmIdByIndex[v] = vm.getVmId();
+            vmIds.putIfAbsent(vm.getVmId(), v);
+        }
+        
+        for (int h = 0; h < hostCount; h++) {
+            Host host = this.hosts.get(h);
+            for (int r = 0; r < RESOURCES.length; r++) {
+                hostCap[r][h] = host.getCap(RESOURCES[r]);
+            }
+            hostCost[h] = host.getCost();
+            hostFailProb[h] = host.getFailProb();
+            hostRel[h] = 1.0 - host.getFailProb();
+            hostEnergy[h] = host.getEnergy();
+            hostIdByIndex[h] = host.getHostId();
+            hostIds.putIfAbsent(host.getHostId(), h);
+        }
+        
+        this.eligibleHosts = new long[vmCount][];
+        this.eligibleHostCount = new int[vmCount];
+        Map<EligibilityClass, long[]> rows = new HashMap<>();
+        for (int v = 0; v < vmCount; v++) {
+            long[] row = rows.computeIfAbsent(new EligibilityClass(v), c -> buildEligibilityRow(c.vmIndex));
+            eligibleHosts[v] = row;
+            int count = 0;
+            for (long word : row) {
+                count += Long.bitCount(word);
+            }
+            eligibleHostCount[v] = count;
+        }
+    }
+    
+    private long[] buildEligibilityRow(int vmIndex) {
+        int hostCount = hostCost.length;
+        long[] row = new long[(hostCount + 63) >>> 6];
+        for (int h = 0; h < hostCount; h++) {
+            if (hostRel[h] < vmMinRel[vmIndex]) {
+                continue;
+            }
+            boolean fits = true;
+            for (int r = 0; r < RESOURCES.length && fits; r++) {
+                fits = vmDemand[r][vmIndex] <= hostCap[r][h];
+            }
+            if (fits) {
+                row[h >>> 6] |= 1L << h;
+            }
+        }
+        return row;
+    }
+    
+    /**
+     * Compila as listas de VMs e hosts informadas
+     */
+    public static CompiledInstance of(List<VM> vms, List<Host> hosts) {
+        return new CompiledInstance(vms, hosts);
+    }
+    
+    public int getVMCount() {
+        return vms.size();
+    }
+    
+    public int getHostCount() {
+        return hosts.size();
+    }
+    
+    public int getResourceCount() {
+        return RESOURCES.length;
+    }
+    
+    /**
+     * Lista imutável das VMs, na ordem dos índices
+     */
+    public List<VM> getVMs() {
+        return vms;
+    }
+    
+    /**
+     * Lista imutável dos hosts, na ordem dos índices
+     */
+    public List<Host> getHosts() {
+        return hosts;
+    }
+    
+    public VM getVM(int index) {
+        return vms.get(index);
+    }
+    
+    public Host getHost(int index) {
+        return hosts.get(index);
+    }
+    
+    /**
+     * Índice da VM com o id informado, ou -1 se não existir
+     */
+    public int indexOfVMId(int vmId) {
+        return vmIds.get(vmId);
+    }
+    
+    /**
+     * Índice do host com o id informado, ou -1 se não existir
+     */
+    public int indexOfHostId(int hostId) {
+        return hostIds.get(hostId);
+    }
+    
+    public int indexOf(VM vm) {
+        int index = vmIds.get(vm.getVmId());
+        if (index < 0) {
+            throw new IllegalArgumentException("VM not part of this instance: " + vm);
+        }
+        return index;
+    }
+    
+    public int indexOf(Host host) {
+        int index = hostIds.get(host.getHostId());
+        if (index < 0) {
+            throw new IllegalArgumentException("Host not part of this instance: " + host);
+        }
+        return index;
+    }
+    
+    public double getDemand(int resource, int vmIndex) {
+        return vmDemand[resource][vmIndex];
+    }
+    
+    public double getCap(int resource, int hostIndex) {
+        return hostCap[resource][hostIndex];
+    }
+    
+    public double getMinRel(int vmIndex) {
+        return vmMinRel[vmIndex];
+    }
+    
+    public double getPrio(int vmIndex) {
+        return vmPrio[vmIndex];
+    }
+    
+    public double getCost(int hostIndex) {
+        return hostCost[hostIndex];
+    }
+    
+    public double getFailProb(int hostIndex) {
+        return hostFailProb[hostIndex];
+    }
+    
+    public double getRel(int hostIndex) {
+        return hostRel[hostIndex];
+    }
+    
+    public double getEnergy(int hostIndex) {
+        return hostEnergy[hostIndex];
+    }
+    
+    /**
+     * Indica se o host atende à confiabilidade mínima da VM e comporta sua demanda
+     * quando vazio. Hosts inelegíveis nunca recebem a VM em uma solução viável.
+     */
+    public boolean isEligible(int vmIndex, int hostIndex) {
+        return (eligibleHosts[vmIndex][hostIndex >>> 6] & (1L << hostIndex)) != 0;
+    }
+    
+    /**
+     * Próximo host elegível para a VM com índice >= fromHost, ou -1 se não houver.
+     * Uso típico: {@code for (int h = next(v, 0); h >= 0; h = next(v, h + 1))}
+     */
+    public int nextEligibleHost(int vmIndex, int fromHost) {
+        long[] row = eligibleHosts[vmIndex];
+        int word = fromHost >>> 6;
+        if (word >= row.length) {
+            return -1;
+        }
+        long bits = row[word] & (-1L << fromHost);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == row.length) {
+                return -1;
+            }
+            bits = row[word];
+        }
+    }
+    
+    public int getEligibleHostCount(int vmIndex) {
+        return eligibleHostCount[vmIndex];
+    }
+    
+    /**
+     * Chave Zobrist de 64 bits do par (VM, host), derivada dos ids para que
+     * fingerprints sejam comparáveis entre instâncias compiladas distintas
+     */
+    public long getZobristKey(int vmIndex, int hostIndex) {
+        long z = vmIdByIndex[vmIndex] * 0x9E3779B97F4A7C15L
+                 + hostIdByIndex[hostIndex] * 0xC2B2AE3D27D4EB4FL
+                 + 0x165667B19E3779F9L;
+        // Finalizador do SplitMix64
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("CompiledInstance{VMs=%d, Hosts=%d}", vms.size(), hosts.size());
+    }
+    
+    /**
+     * Chave de agrupamento das VMs por limiar de confiabilidade e demandas
+     */
+    private final class EligibilityClass {
+        final int vmIndex;
+        
+        EligibilityClass(int vmIndex) {
+            this.vmIndex = vmIndex;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof EligibilityClass)) return false;
+            int other = ((EligibilityClass) o).vmIndex;
+            if (Double.compare(vmMinRel[vmIndex], vmMinRel[other]) != 0) return false;
+            for (int r = 0; r < RESOURCES.length; r++) {
+                if (Double.compare(vmDemand[r][vmIndex], vmDemand[r][other]) != 0) return false;
+            }
+            return true;
+        }
+        
+        @Override
+        public int hashCode() {
+            int hash = Double.hashCode(vmMinRel[vmIndex]);
+            for (int r = 0; r < RESOURCES.length; r++) {
+                hash = 31 * hash + Double.hashCode(vmDemand[r][vmIndex]);
+            }
+            return hash;
+        }
+    }
+    
+    /**
+     * Tabela hash de endereçamento aberto id -> índice, sem boxing
+     */
+    private static final class IdIndex {
+        private final int[] keys;
+        private final int[] values;
+        private final boolean[] used;
+        private final int mask;
+        
+        IdIndex(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(2, expectedSize * 2 - 1)) << 1;
+            this.keys = new int[capacity];
+            this.values = new int[capacity];
+            this.used = new boolean[capacity];
+            this.mask = capacity - 1;
+        }
+        
+        void putIfAbsent(int key, int value) {
+            int slot = mix(key) & mask;
+            while (used[slot]) {
+                if (keys[slot] == key) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            values[slot] = value;
+        }
+        
+        int get(int key) {
+            int slot = mix(key) & mask;
+            while (used[slot]) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+        
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
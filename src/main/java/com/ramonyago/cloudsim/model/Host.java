@@ -1,12 +1,15 @@
 package com.ramonyago.cloudsim.model;
 
-import java.util.Map;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 // Host class - represents physical machines
 public class Host {
     private final int hostId;
     private final Map<ResourceType, Double> caps;
+    private final List<ProblemInstance> owners = new ArrayList<>(1); // instâncias avisadas de alterações
     private final double cost; // activation cost
     private final double failProb; // failure probability
     private final double energy;
@@ -82,9 +85,17 @@ public class Host {
             throw new IllegalArgumentException("capacity cant be negative");
         }
         caps.put(type, capacity);
+        for (ProblemInstance owner : owners) {
+            owner.recordModification();
+        }
+    }
+    
+    // check if host can fit this VM, using the solution's residual capacity ledger
+    public boolean canFit(VM vm, AllocationSolution solution) {
+        return solution.canFit(vm, this);
     }
     
-    // check if host can fit this VM
+    // check if host can fit this VM (full scan over allocations, prefer the overload above)
     public boolean canFit(VM vm, Map<VM, Host> currentAllocs) {
         // calc current usage
         Map<ResourceType, Double> usage = new HashMap<>();
@@ -115,6 +126,15 @@ public class Host {
         return true;
     }
     
+    /**
+     * Registra uma instância que contém este host, para invalidar sua forma compilada
+     */
+    void addOwner(ProblemInstance owner) {
+        if (!owners.contains(owner)) {
+            owners.add(owner);
+        }
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
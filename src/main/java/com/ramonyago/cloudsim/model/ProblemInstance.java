@@ -10,12 +10,19 @@ public class ProblemInstance {
     private final List<Host> hosts;
     private final String instanceName;
     private final Map<String, Object> metadata;
+    private final Map<Integer, VM> vmsById;     // primeira VM com cada id
+    private final Map<Integer, Host> hostsById; // primeiro host com cada id
+    private CompiledInstance compiled; // cache da forma compilada, descartado ao adicionar ou alterar VMs/hosts
+    private long modifications;        // alterações em VMs e hosts desta instância
+    private long compiledVersion;      // valor de modifications quando compiled foi gerada
     
     public ProblemInstance(String instanceName) {
         this.instanceName = instanceName;
         this.vms = new ArrayList<>();
         this.hosts = new ArrayList<>();
         this.metadata = new HashMap<>();
+        this.vmsById = new HashMap<>();
+        this.hostsById = new HashMap<>();
     }
     
     public ProblemInstance(String instanceName, List<VM> vms, List<Host> hosts) {
@@ -23,17 +30,39 @@ public class ProblemInstance {
         this.vms = new ArrayList<>(vms);
         this.hosts = new ArrayList<>(hosts);
         this.metadata = new HashMap<>();
+        this.vmsById = new HashMap<>();
+        this.hostsById = new HashMap<>();
+        for (VM vm : this.vms) {
+            register(vm);
+        }
+        for (Host host : this.hosts) {
+            register(host);
+        }
+    }
+    
+    private void register(VM vm) {
+        vmsById.putIfAbsent(vm.getVmId(), vm);
+        vm.addOwner(this);
+    }
+    
+    private void register(Host host) {
+        hostsById.putIfAbsent(host.getHostId(), host);
+        host.addOwner(this);
     }
     
     public void addVM(VM vm) {
         if (!vms.contains(vm)) {
             vms.add(vm);
+            register(vm);
+            invalidateCompiled();
         }
     }
     
     public void addHost(Host host) {
         if (!hosts.contains(host)) {
             hosts.add(host);
+            register(host);
+            invalidateCompiled();
         }
     }
     
@@ -57,18 +86,70 @@ public class ProblemInstance {
         return hosts.size();
     }
     
+    /**
+     * Busca por id em um mapa próprio, sem compilar a instância
+     */
     public VM getVM(int id) {
-        return vms.stream()
-                .filter(vm -> vm.getVmId() == id)
-                .findFirst()
-                .orElse(null);
+        return vmsById.get(id);
     }
     
     public Host getHost(int id) {
-        return hosts.stream()
-                .filter(host -> host.getHostId() == id)
-                .findFirst()
-                .orElse(null);
+        return hostsById.get(id);
+    }
+    
+    /**
+     * Congela a instância em arrays densos indexados (ver {@link CompiledInstance}).
+     * O resultado é mantido em cache até que uma VM ou host seja adicionado ou alterado
+     * (demandas e capacidades).
+     */
+    public synchronized CompiledInstance compile() {
+        if (compiled == null || compiledVersion != modifications) {
+            compiled = CompiledInstance.of(vms, hosts);
+            compiledVersion = modifications;
+        }
+        return compiled;
+    }
+    
+    /**
+     * Forma compilada das VMs e hosts informados: a da instância dona deles, se as listas
+     * forem exatamente as suas, ou uma nova compilação
+     */
+    static CompiledInstance compile(List<VM> vms, List<Host> hosts) {
+        if (!vms.isEmpty()) {
+            for (ProblemInstance owner : vms.get(0).getOwners()) {
+                if (owner.hasElements(vms, hosts)) {
+                    return owner.compile();
+                }
+            }
+        }
+        return CompiledInstance.of(vms, hosts);
+    }
+    
+    private synchronized boolean hasElements(List<VM> givenVms, List<Host> givenHosts) {
+        return sameElements(vms, givenVms) && sameElements(hosts, givenHosts);
+    }
+    
+    private static boolean sameElements(List<?> own, List<?> given) {
+        if (own.size() != given.size()) {
+            return false;
+        }
+        for (int i = 0; i < given.size(); i++) {
+            if (own.get(i) != given.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Chamado por VMs e hosts desta instância quando suas demandas ou capacidades mudam
+     */
+    synchronized void recordModification() {
+        modifications++;
+    }
+    
+    private synchronized void invalidateCompiled() {
+        compiled = null;
     }
     
     /**
@@ -1,7 +1,9 @@
 package com.ramonyago.cloudsim.model;
 
-import java.util.Map;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Representa uma Máquina Virtual (VM) com demandas de múltiplos recursos
@@ -10,6 +12,7 @@ import java.util.HashMap;
 public class VM {
     private final int vmId;
     private final Map<ResourceType, Double> demands;
+    private final List<ProblemInstance> owners = new ArrayList<>(1); // instâncias avisadas de alterações
     private final double minRel; // minimum reliability needed
     private final double prio;
     
@@ -52,6 +55,9 @@ public class VM {
             throw new IllegalArgumentException("demand cant be negative");
         }
         demands.put(type, demand);
+        for (ProblemInstance owner : owners) {
+            owner.recordModification();
+        }
     }
     
     /**
@@ -61,6 +67,19 @@ public class VM {
         return Math.log(1 - minRel);
     }
     
+    /**
+     * Registra uma instância que contém esta VM, para invalidar sua forma compilada
+     */
+    List<ProblemInstance> getOwners() {
+        return owners;
+    }
+    
+    void addOwner(ProblemInstance owner) {
+        if (!owners.contains(owner)) {
+            owners.add(owner);
+        }
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,123 @@
+package com.ramonyago.cloudsim.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Hipervolume exato da frente (custo, confiabilidade), mantido incrementalmente.
+ *
+ * A frente não-dominada fica ordenada por custo crescente; nela a confiabilidade
+ * também é crescente. A área dominada até o ponto de referência é a soma das faixas
+ * (c[i+1] - c[i]) * (r[i] - refReliability), com c[k+1] = refCost, e cada inserção
+ * ajusta apenas as faixas vizinhas: O(log n) mais O(log n) por ponto removido
+ * (amortizado, pois cada ponto é removido no máximo uma vez).
+ *
+ * Pontos com custo >= refCost ou confiabilidade <= refReliability não contribuem.
+ */
+public class HypervolumeTracker {
+    private final double referenceCost;
+    private final double referenceReliability;
+    private final TreeMap<Double, Double> front; // custo -> confiabilidade
+    private double hypervolume;
+    
+    public HypervolumeTracker(double referenceCost, double referenceReliability) {
+        if (Double.isNaN(referenceCost) || Double.isNaN(referenceReliability)) {
+            throw new IllegalArgumentException("Reference point must not be NaN");
+        }
+        this.referenceCost = referenceCost;
+        this.referenceReliability = referenceReliability;
+        this.front = new TreeMap<>();
+    }
+    
+    /**
+     * Registra um ponto
+     * @return true se o ponto entrou na frente (e o hipervolume aumentou)
+     */
+    public boolean add(double cost, double reliability) {
+        if (!(cost < referenceCost) || !(reliability > referenceReliability)) {
+            return false;
+        }
+        
+        // O ponto de maior custo <= cost é o de maior confiabilidade entre eles
+        Map.Entry<Double, Double> predecessor = front.floorEntry(cost);
+        if (predecessor != null && predecessor.getValue() >= reliability) {
+            return false; // dominado ou repetido
+        }
+        
+        // Remove os pontos dominados pelo novo (custo >= cost e confiabilidade <= reliability)
+        Map.Entry<Double, Double> dominated = front.ceilingEntry(cost);
+        while (dominated != null && dominated.getValue() <= reliability) {
+            remove(dominated.getKey(), dominated.getValue());
+            dominated = front.ceilingEntry(cost);
+        }
+        
+        predecessor = front.lowerEntry(cost);
+        Map.Entry<Double, Double> successor = front.higherEntry(cost);
+        double nextCost = successor != null ? successor.getKey() : referenceCost;
+        if (predecessor != null) {
+            hypervolume -= strip(predecessor.getKey(), nextCost, predecessor.getValue());
+            hypervolume += strip(predecessor.getKey(), cost, predecessor.getValue());
+        }
+        hypervolume += strip(cost, nextCost, reliability);
+        
+        front.put(cost, reliability);
+        return true;
+    }
+    
+    private void remove(double cost, double reliability) {
+        Map.Entry<Double, Double> predecessor = front.lowerEntry(cost);
+        Map.Entry<Double, Double> successor = front.higherEntry(cost);
+        double nextCost = successor != null ? successor.getKey() : referenceCost;
+        
+        hypervolume -= strip(cost, nextCost, reliability);
+        if (predecessor != null) {
+            hypervolume -= strip(predecessor.getKey(), cost, predecessor.getValue());
+            hypervolume += strip(predecessor.getKey(), nextCost, predecessor.getValue());
+        }
+        
+        front.remove(cost);
+    }
+    
+    private double strip(double fromCost, double toCost, double reliability) {
+        return (toCost - fromCost) * (reliability - referenceReliability);
+    }
+    
+    public double getHypervolume() {
+        return front.isEmpty() ? 0.0 : hypervolume;
+    }
+    
+    public int getFrontSize() {
+        return front.size();
+    }
+    
+    /**
+     * Pontos da frente em ordem de custo crescente: [i][0] = custo, [i][1] = confiabilidade
+     */
+    public double[][] getFront() {
+        double[][] points = new double[front.size()][];
+        int i = 0;
+        for (Map.Entry<Double, Double> point : front.entrySet()) {
+            points[i++] = new double[] {point.getKey(), point.getValue()};
+        }
+        return points;
+    }
+    
+    public double getReferenceCost() {
+        return referenceCost;
+    }
+    
+    public double getReferenceReliability() {
+        return referenceReliability;
+    }
+    
+    public void clear() {
+        front.clear();
+        hypervolume = 0.0;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("HypervolumeTracker{hv=%.4f, front=%d, ref=(%.2f, %.3f)}",
+                           getHypervolume(), front.size(), referenceCost, referenceReliability);
+    }
+}
@@ -10,17 +10,24 @@ import java.util.*;
  */
 public class ParetoArchive {
     private final List<AllocationSolution> solutions;
+    private final Map<Long, Integer> fingerprints; // fingerprints Zobrist das soluções do arquivo, com multiplicidade
     private final int maxSize;
     
     public ParetoArchive(int maxSize) {
         this.maxSize = maxSize;
         this.solutions = new ArrayList<>();
+        this.fingerprints = new HashMap<>();
     }
     
     /**
      * Adiciona uma solução ao arquivo se ela for não-dominada
      */
     public synchronized boolean add(AllocationSolution newSolution) {
+        // Rejeita em O(1) alocações idênticas a uma já arquivada
+        if (fingerprints.containsKey(newSolution.getFingerprint()) && containsPlacement(newSolution)) {
+            return false;
+        }
+        
         // Verifica se a nova solução é dominada por alguma existente
         for (AllocationSolution existing : solutions) {
             if (existing.compareDominance(newSolution) < 0) {
@@ -29,10 +36,17 @@ public class ParetoArchive {
         }
         
         // Remove soluções dominadas pela nova solução
-        solutions.removeIf(existing -> newSolution.compareDominance(existing) < 0);
+        solutions.removeIf(existing -> {
+            if (newSolution.compareDominance(existing) < 0) {
+                removeFingerprint(existing);
+                return true;
+            }
+            return false;
+        });
         
         // Adiciona a nova solução
         solutions.add(new AllocationSolution(newSolution));
+        addFingerprint(newSolution);
         
         // Se excedeu o tamanho máximo, remove soluções com menor crowding distance
         if (solutions.size() > maxSize) {
@@ -52,13 +66,39 @@ public class ParetoArchive {
         
         // Simple approach: just keep the first maxSize solutions
         // This avoids all the complex crowding distance calculations that are causing issues
-        List<AllocationSolution> solutionsToKeep = new ArrayList<>();
-        for (int i = 0; i < Math.min(maxSize, solutions.size()); i++) {
-            solutionsToKeep.add(solutions.get(i));
+        List<AllocationSolution> removed = solutions.subList(maxSize, solutions.size());
+        for (AllocationSolution solution : removed) {
+            removeFingerprint(solution);
         }
-        
-        solutions.clear();
-        solutions.addAll(solutionsToKeep);
+        removed.clear();
+    }
+    
+    private boolean containsPlacement(AllocationSolution solution) {
+        for (AllocationSolution existing : solutions) {
+            if (existing.samePlacement(solution)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void addFingerprint(AllocationSolution solution) {
+        fingerprints.merge(solution.getFingerprint(), 1, Integer::sum);
+    }
+    
+    /**
+     * Remove uma ocorrência do fingerprint; a multiplicidade preserva colisões entre
+     * alocações distintas
+     */
+    private void removeFingerprint(AllocationSolution solution) {
+        fingerprints.computeIfPresent(solution.getFingerprint(), (fingerprint, count) -> count > 1 ? count - 1 : null);
+    }
+    
+    /**
+     * Verifica se o arquivo contém uma solução com o fingerprint informado
+     */
+    public synchronized boolean containsFingerprint(long fingerprint) {
+        return fingerprints.containsKey(fingerprint);
     }
     
     /**
@@ -159,6 +199,7 @@ public class ParetoArchive {
      */
     public synchronized void clear() {
         solutions.clear();
+        fingerprints.clear();
     }
     
     /**
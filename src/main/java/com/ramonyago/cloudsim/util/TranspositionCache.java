@@ -0,0 +1,110 @@
+package com.ramonyago.cloudsim.util;
+
+import java.util.Arrays;
+
+/**
+ * Cache de transposição de tamanho limitado: associa o fingerprint Zobrist de uma
+ * alocação aos seus objetivos (custo, confiabilidade) e viabilidade já avaliados.
+ * Usa endereçamento direto; uma nova entrada substitui a que ocupava o mesmo slot.
+ */
+public class TranspositionCache {
+    private final long[] fingerprints;
+    private final double[] costs;
+    private final double[] reliabilities;
+    private final boolean[] feasible;
+    private final boolean[] used;
+    private final int mask;
+    
+    private long hits;
+    private long misses;
+    
+    public TranspositionCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.fingerprints = new long[size];
+        this.costs = new double[size];
+        this.reliabilities = new double[size];
+        this.feasible = new boolean[size];
+        this.used = new boolean[size];
+        this.mask = size - 1;
+    }
+    
+    /**
+     * Copia para target a entrada associada ao fingerprint, sem alocar
+     * @return false se o fingerprint não está no cache (target não é alterado)
+     */
+    public synchronized boolean get(long fingerprint, Entry target) {
+        int slot = slotOf(fingerprint);
+        if (used[slot] && fingerprints[slot] == fingerprint) {
+            hits++;
+            target.cost = costs[slot];
+            target.reliability = reliabilities[slot];
+            target.feasible = feasible[slot];
+            return true;
+        }
+        misses++;
+        return false;
+    }
+    
+    /**
+     * Verifica se o fingerprint está no cache, sem contabilizar acerto ou falha
+     */
+    public synchronized boolean contains(long fingerprint) {
+        int slot = slotOf(fingerprint);
+        return used[slot] && fingerprints[slot] == fingerprint;
+    }
+    
+    /**
+     * Registra a avaliação de uma alocação, substituindo a entrada anterior do slot
+     */
+    public synchronized void put(long fingerprint, double cost, double reliability, boolean isFeasible) {
+        int slot = slotOf(fingerprint);
+        used[slot] = true;
+        fingerprints[slot] = fingerprint;
+        costs[slot] = cost;
+        reliabilities[slot] = reliability;
+        feasible[slot] = isFeasible;
+    }
+    
+    public synchronized void clear() {
+        Arrays.fill(used, false);
+        hits = 0;
+        misses = 0;
+    }
+    
+    public int getCapacity() {
+        return fingerprints.length;
+    }
+    
+    public synchronized long getHits() {
+        return hits;
+    }
+    
+    public synchronized long getMisses() {
+        return misses;
+    }
+    
+    private int slotOf(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+    }
+    
+    @Override
+    public synchronized String toString() {
+        return String.format("TranspositionCache{capacity=%d, hits=%d, misses=%d}",
+                           fingerprints.length, hits, misses);
+    }
+    
+    /**
+     * Avaliação armazenada de uma alocação; reutilizável entre consultas
+     */
+    public static class Entry {
+        public double cost;
+        public double reliability;
+        public boolean feasible;
+    }
+}
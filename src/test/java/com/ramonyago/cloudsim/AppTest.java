@@ -1,11 +1,35 @@
 package com.ramonyago.cloudsim;
 
+import com.ramonyago.cloudsim.algorithm.TabuSearch;
 import com.ramonyago.cloudsim.algorithm.brkga.BRKGADecoder;
+import com.ramonyago.cloudsim.algorithm.brkga.BRKGAParameters;
+import com.ramonyago.cloudsim.algorithm.brkga.Individual;
+import com.ramonyago.cloudsim.algorithm.brkga.IslandModel;
+import com.ramonyago.cloudsim.algorithm.brkga.MOBRKGA;
+import com.ramonyago.cloudsim.algorithm.brkga.ParetoRanking;
+import com.ramonyago.cloudsim.algorithm.termination.TerminationCriterion;
 import com.ramonyago.cloudsim.io.InstanceReader;
 import com.ramonyago.cloudsim.model.AllocationSolution;
+import com.ramonyago.cloudsim.model.CompiledInstance;
+import com.ramonyago.cloudsim.model.Host;
 import com.ramonyago.cloudsim.model.ProblemInstance;
+import com.ramonyago.cloudsim.model.ResourceType;
+import com.ramonyago.cloudsim.model.VM;
+import com.ramonyago.cloudsim.util.HypervolumeTracker;
+import com.ramonyago.cloudsim.util.ParetoArchive;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -179,4 +203,796 @@ public class AppTest {
             assertTrue(statistics.minReliability <= statistics.maxReliability);
         }
     }
+    
+    @Test
+    void testDeltaEvaluationMatchesRecomputation() {
+        AllocationSolution solution = new AllocationSolution(testInstance.getVMs(), testInstance.getHosts());
+        VM vm1 = testInstance.getVM(1);
+        VM vm2 = testInstance.getVM(2);
+        solution.allocateVM(vm1, testInstance.getHost(1));
+        solution.allocateVM(vm2, testInstance.getHost(2));
+        
+        for (VM vm : testInstance.getVMs()) {
+            for (Host target : testInstance.getHosts()) {
+                AllocationSolution moved = new AllocationSolution(solution);
+                moved.reallocateVM(vm, target);
+                
+                assertEquals(moved.getTotalCost(), 
+                            solution.getTotalCost() + solution.deltaCost(vm, target), 1e-9);
+                assertEquals(moved.getTotalReliability(), 
+                            solution.getTotalReliability() + solution.deltaReliability(vm, target), 1e-9);
+            }
+            
+            AllocationSolution removed = new AllocationSolution(solution);
+            removed.deallocateVM(vm);
+            assertEquals(removed.getTotalCost(), solution.getTotalCost() + solution.deltaCost(vm, null), 1e-9);
+        }
+    }
+    
+    @Test
+    void testSolutionCopiesAreIndependent() {
+        AllocationSolution original = new AllocationSolution(testInstance.getVMs(), testInstance.getHosts());
+        VM vm1 = testInstance.getVM(1);
+        VM vm3 = testInstance.getVM(3);
+        Host host1 = testInstance.getHost(1);
+        Host host3 = testInstance.getHost(3);
+        original.allocateVM(vm1, host1);
+        
+        AllocationSolution copy = new AllocationSolution(original);
+        copy.reallocateVM(vm1, host3);
+        original.allocateVM(vm3, host3);
+        
+        assertEquals(host1, original.getHostForVM(vm1));
+        assertEquals(host3, original.getHostForVM(vm3));
+        assertEquals(host3, copy.getHostForVM(vm1));
+        assertNull(copy.getHostForVM(vm3));
+        assertEquals(0, copy.getVmsOnHost(host1).size());
+        assertEquals(1, original.getVmsOnHost(host1).size());
+    }
+    
+    @Test
+    void testFingerprintIdentifiesPlacement() {
+        VM vm1 = testInstance.getVM(1);
+        VM vm2 = testInstance.getVM(2);
+        Host host1 = testInstance.getHost(1);
+        Host host3 = testInstance.getHost(3);
+        
+        AllocationSolution a = new AllocationSolution(testInstance.getVMs(), testInstance.getHosts());
+        a.allocateVM(vm1, host1);
+        a.allocateVM(vm2, host3);
+        
+        AllocationSolution b = new AllocationSolution(testInstance.getVMs(), testInstance.getHosts());
+        b.allocateVM(vm2, host1);
+        b.allocateVM(vm1, host3);
+        assertNotEquals(a.getFingerprint(), b.getFingerprint());
+        
+        b.reallocateVM(vm2, host3);
+        b.reallocateVM(vm1, host1);
+        assertEquals(a.getFingerprint(), b.getFingerprint());
+        assertTrue(a.samePlacement(b));
+        
+        ParetoArchive archive = new ParetoArchive(10);
+        assertTrue(archive.add(a));
+        assertFalse(archive.add(b), "Duplicate placement should be rejected");
+        assertEquals(1, archive.size());
+    }
+    
+    @Test
+    void testFeasibilityTracksMoves() {
+        AllocationSolution solution = new AllocationSolution(testInstance.getVMs(), testInstance.getHosts());
+        double initialViolation = solution.getConstraintViolation();
+        Host host = testInstance.getHost(1);
+        
+        // Empilhar todas as VMs no mesmo host e depois desfazer
+        for (VM vm : testInstance.getVMs()) {
+            solution.allocateVM(vm, host);
+        }
+        for (VM vm : testInstance.getVMs()) {
+            solution.deallocateVM(vm);
+        }
+        assertEquals(initialViolation, solution.getConstraintViolation(), 1e-9);
+        
+        BRKGADecoder decoder = new BRKGADecoder(testInstance, BRKGADecoder.DecodingStrategy.GREEDY_COST);
+        AllocationSolution decoded = decoder.decode(decoder.generateRandomKeys());
+        AllocationSolution copy = new AllocationSolution(decoded);
+        assertEquals(decoded.isFeasible(), copy.isFeasible());
+        assertEquals(decoded.getConstraintViolation(), copy.getConstraintViolation(), 1e-12);
+        if (decoded.isFeasible()) {
+            assertEquals(0.0, decoded.getConstraintViolation());
+        }
+    }
+    
+    @Test
+    void testEligibleHostsMatchStaticConstraints() {
+        CompiledInstance compiled = testInstance.compile();
+        for (int v = 0; v < compiled.getVMCount(); v++) {
+            VM vm = compiled.getVM(v);
+            int count = 0;
+            for (int h = compiled.nextEligibleHost(v, 0); h >= 0; h = compiled.nextEligibleHost(v, h + 1)) {
+                Host host = compiled.getHost(h);
+                assertTrue(1.0 - host.getFailProb() >= vm.getMinRel());
+                assertTrue(compiled.isEligible(v, h));
+                count++;
+            }
+            assertEquals(compiled.getEligibleHostCount(v), count);
+        }
+    }
+    
+    @Test
+    void testCompiledInstanceFollowsMutations() {
+        ProblemInstance instance = packedInstance(3, 4);
+        ProblemInstance other = packedInstance(3, 4);
+        CompiledInstance before = instance.compile();
+        CompiledInstance otherBefore = other.compile();
+        assertSame(before, instance.compile());
+        assertSame(before, new AllocationSolution(instance.getVMs(), instance.getHosts()).getCompiledInstance());
+        
+        // Alterar uma VM ou host torna obsoleta só a forma compilada da instância dona
+        instance.getVM(1).setDemand(ResourceType.CPU, 12);
+        instance.getHost(0).setCap(ResourceType.CPU, 15);
+        assertSame(otherBefore, other.compile());
+        CompiledInstance after = instance.compile();
+        assertNotSame(before, after);
+        int cpu = ResourceType.CPU.ordinal();
+        assertEquals(12.0, after.getDemand(cpu, after.indexOfVMId(1)));
+        assertEquals(15.0, after.getCap(cpu, after.indexOfHostId(0)));
+        assertEquals(12.0, instance.getVM(1).getDemand(ResourceType.CPU));
+        assertFalse(after.isEligible(after.indexOfVMId(1), after.indexOfHostId(1)));
+    }
+    
+    @Test
+    void testParallelEvaluationIsReproducible() {
+        List<AllocationSolution> sequential = runBRKGA(1);
+        List<AllocationSolution> parallel = runBRKGA(4);
+        
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertTrue(sequential.get(i).samePlacement(parallel.get(i)));
+        }
+    }
+    
+    private List<AllocationSolution> runBRKGA(int parallelism) {
+        BRKGAParameters parameters = new BRKGAParameters.Builder()
+                .populationSize(30)
+                .maxGenerations(15)
+                .archiveSize(10)
+                .randomSeed(7)
+                .parallelism(parallelism)
+                .build();
+        MOBRKGA brkga = new MOBRKGA(testInstance, parameters, BRKGADecoder.DecodingStrategy.BALANCED);
+        return brkga.run().getSolutions();
+    }
+    
+    @Test
+    void testIslandModelIsReproducible() {
+        BRKGAParameters parameters = new BRKGAParameters.Builder()
+                .populationSize(20)
+                .maxGenerations(12)
+                .archiveSize(10)
+                .randomSeed(11)
+                .build();
+        
+        List<AllocationSolution> first = runIslands(parameters);
+        List<AllocationSolution> second = runIslands(parameters);
+        
+        assertFalse(first.isEmpty());
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertTrue(first.get(i).samePlacement(second.get(i)));
+        }
+    }
+    
+    private List<AllocationSolution> runIslands(BRKGAParameters parameters) {
+        IslandModel model = new IslandModel.Builder(testInstance, parameters)
+                .islandCount(3)
+                .strategies(BRKGADecoder.DecodingStrategy.GREEDY_COST,
+                            BRKGADecoder.DecodingStrategy.GREEDY_RELIABILITY)
+                .topology(IslandModel.Topology.FULLY_CONNECTED)
+                .migrationInterval(5)
+                .build();
+        List<AllocationSolution> solutions = model.run().getSolutions();
+        assertEquals(2, model.getMigrations());
+        return solutions;
+    }
+    
+    @Test
+    void testImmigrantsDecodedByReceivingIsland() {
+        ProblemInstance instance = packedInstance(3, 4, 3, 5, 2, 3, 4, 2);
+        BRKGAParameters parameters = new BRKGAParameters.Builder()
+                .populationSize(20)
+                .eliteRatio(0.4)
+                .maxGenerations(4)
+                .archiveSize(10)
+                .randomSeed(5)
+                .build();
+        BRKGADecoder.DecodingStrategy[] strategies = {BRKGADecoder.DecodingStrategy.GREEDY_COST,
+                                                      BRKGADecoder.DecodingStrategy.FIRST_FIT};
+        IslandModel model = new IslandModel.Builder(instance, parameters)
+                .islandCount(2)
+                .strategies(strategies)
+                .migrationInterval(3)
+                .migrantCount(8)
+                .build();
+        model.run();
+        assertEquals(1, model.getMigrations());
+        
+        // Cada indivíduo carrega a alocação que o decodificador da sua ilha produz
+        for (int i = 0; i < strategies.length; i++) {
+            BRKGADecoder decoder = new BRKGADecoder(instance, strategies[i], parameters.getEncoding());
+            for (Individual individual : model.getIslands().get(i).getPopulation()) {
+                assertTrue(decoder.decode(individual.getKeys()).samePlacement(individual.getSolution()));
+            }
+        }
+    }
+    
+    @Test
+    void testParetoRankingMatchesBruteForce() {
+        Random random = new Random(3);
+        for (int round = 0; round < 20; round++) {
+            // Poucos valores distintos: custos e confiabilidades iguais e pontos duplicados
+            int n = 1 + random.nextInt(60);
+            double[] cost = new double[n];
+            double[] reliability = new double[n];
+            for (int i = 0; i < n; i++) {
+                cost[i] = random.nextInt(8);
+                reliability[i] = random.nextInt(6) / 5.0;
+            }
+            
+            int[] rank = new int[n];
+            double[] crowding = new double[n];
+            int frontCount = ParetoRanking.assignRanks(cost, reliability, rank);
+            ParetoRanking.assignCrowding(cost, reliability, rank, frontCount, crowding);
+            
+            int[] expectedRank = bruteForceRanks(cost, reliability);
+            double[] expectedCrowding = bruteForceCrowding(cost, reliability, expectedRank);
+            for (int i = 0; i < n; i++) {
+                assertEquals(expectedRank[i], rank[i]);
+                assertEquals(expectedCrowding[i], crowding[i], 1e-12);
+            }
+        }
+    }
+    
+    /**
+     * Frentes por remoção sucessiva dos não-dominados, com comparação par a par
+     */
+    private static int[] bruteForceRanks(double[] cost, double[] reliability) {
+        int n = cost.length;
+        int[] rank = new int[n];
+        Arrays.fill(rank, -1);
+        int assigned = 0;
+        for (int front = 0; assigned < n; front++) {
+            List<Integer> members = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (rank[i] != -1) {
+                    continue;
+                }
+                boolean dominated = false;
+                for (int j = 0; j < n && !dominated; j++) {
+                    dominated = rank[j] == -1 && cost[j] <= cost[i] && reliability[j] >= reliability[i]
+                                && (cost[j] < cost[i] || reliability[j] > reliability[i]);
+                }
+                if (!dominated) {
+                    members.add(i);
+                }
+            }
+            for (int i : members) {
+                rank[i] = front;
+            }
+            assigned += members.size();
+        }
+        return rank;
+    }
+    
+    /**
+     * Crowding distance do NSGA-II; empates mantêm a ordem dos índices
+     */
+    private static double[] bruteForceCrowding(double[] cost, double[] reliability, int[] rank) {
+        int n = cost.length;
+        double[] crowding = new double[n];
+        for (int front = 0; ; front++) {
+            List<Integer> members = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (rank[i] == front) {
+                    members.add(i);
+                }
+            }
+            if (members.isEmpty()) {
+                return crowding;
+            }
+            if (members.size() <= 2) {
+                for (int i : members) {
+                    crowding[i] = Double.MAX_VALUE;
+                }
+                continue;
+            }
+            for (double[] objective : new double[][] {cost, reliability}) {
+                members.sort(Comparator.comparingDouble(i -> objective[i]));
+                int size = members.size();
+                double range = objective[members.get(size - 1)] - objective[members.get(0)];
+                for (int k = 1; k < size - 1 && range > 0; k++) {
+                    if (crowding[members.get(k)] != Double.MAX_VALUE) {
+                        crowding[members.get(k)] += (objective[members.get(k + 1)]
+                                                     - objective[members.get(k - 1)]) / range;
+                    }
+                }
+                crowding[members.get(0)] = Double.MAX_VALUE;
+                crowding[members.get(size - 1)] = Double.MAX_VALUE;
+            }
+        }
+    }
+    
+    @Test
+    void testCompactEncoding() {
+        BRKGADecoder decoder = new BRKGADecoder(testInstance, BRKGADecoder.DecodingStrategy.GREEDY_COST,
+                                                BRKGADecoder.Encoding.COMPACT);
+        assertEquals(2 * testInstance.getVMs().size(), decoder.getRequiredKeyCount());
+        
+        AllocationSolution solution = decoder.decode(decoder.generateRandomKeys());
+        assertTrue(solution.getAllocatedVMCount() > 0);
+        
+        OptimizationParameters compactParameters = new OptimizationParameters.Builder()
+                .brkgaPopulationSize(20)
+                .brkgaMaxGenerations(10)
+                .tabuMaxIterations(10)
+                .archiveSize(10)
+                .randomSeed(42)
+                .brkgaEncoding(BRKGADecoder.Encoding.COMPACT)
+                .build();
+        VMAllocationOptimizer optimizer = new VMAllocationOptimizer(testInstance, compactParameters);
+        assertFalse(optimizer.optimize().getArchive().isEmpty());
+    }
+    
+    @Test
+    void testHypervolumeTracker() {
+        HypervolumeTracker tracker = new HypervolumeTracker(10.0, 0.0);
+        assertTrue(tracker.add(4.0, 0.5));
+        assertEquals(3.0, tracker.getHypervolume(), 1e-12);
+        
+        assertTrue(tracker.add(8.0, 0.9));
+        assertEquals(4.0 * 0.5 + 2.0 * 0.9, tracker.getHypervolume(), 1e-12);
+        
+        assertFalse(tracker.add(9.0, 0.8), "Dominated point must be ignored");
+        
+        // Domina (4.0, 0.5) e (8.0, 0.9)
+        assertTrue(tracker.add(3.0, 0.95));
+        assertEquals(1, tracker.getFrontSize());
+        assertEquals(7.0 * 0.95, tracker.getHypervolume(), 1e-12);
+        
+        MOBRKGA brkga = new MOBRKGA(testInstance, new BRKGAParameters.Builder()
+                .populationSize(20).maxGenerations(10).archiveSize(10).randomSeed(3).build(),
+                BRKGADecoder.DecodingStrategy.BALANCED);
+        brkga.run();
+        List<Double> history = brkga.getHyperVolumeHistory();
+        assertEquals(11, history.size());
+        for (int i = 1; i < history.size(); i++) {
+            assertTrue(history.get(i) >= history.get(i - 1) - 1e-9);
+        }
+    }
+    
+    @Test
+    void testEarlyTermination() {
+        OptimizationParameters budgetParameters = new OptimizationParameters.Builder()
+                .brkgaPopulationSize(20)
+                .brkgaMaxGenerations(100000)
+                .tabuMaxIterations(100000)
+                .archiveSize(10)
+                .randomSeed(42)
+                .timeLimit(Duration.ofMillis(500))
+                .maxEvaluations(2000)
+                .build();
+        
+        long start = System.currentTimeMillis();
+        VMAllocationOptimizer optimizer = new VMAllocationOptimizer(testInstance, budgetParameters);
+        VMAllocationOptimizer.OptimizationResult result = optimizer.optimize();
+        
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertFalse(result.getArchive().isEmpty());
+        assertTrue(result.getReport().getBrkgaGenerations() < 100000);
+        
+        // Estagnação do arquivo encerra o BRKGA antes do limite de gerações
+        BRKGAParameters stagnating = new BRKGAParameters.Builder()
+                .populationSize(20)
+                .maxGenerations(100000)
+                .archiveSize(10)
+                .randomSeed(5)
+                .termination(TerminationCriterion.archiveUnchanged(20))
+                .build();
+        MOBRKGA brkga = new MOBRKGA(testInstance, stagnating, BRKGADecoder.DecodingStrategy.BALANCED);
+        brkga.run();
+        assertTrue(brkga.getCurrentGeneration() < 100000);
+        
+        // Orçamento menor que a população: a avaliação inicial para ao esgotá-lo
+        BRKGAParameters tinyBudget = new BRKGAParameters.Builder()
+                .populationSize(20)
+                .maxGenerations(10)
+                .archiveSize(10)
+                .randomSeed(5)
+                .termination(TerminationCriterion.evaluationBudget(5))
+                .build();
+        MOBRKGA truncated = new MOBRKGA(testInstance, tinyBudget, BRKGADecoder.DecodingStrategy.BALANCED);
+        assertFalse(truncated.run().isEmpty());
+        assertEquals(5, truncated.getEvaluations());
+        assertEquals(0, truncated.getCurrentGeneration());
+    }
+    
+    @Test
+    void testEncoderReproducesPlacement() {
+        for (BRKGADecoder.Encoding encoding : BRKGADecoder.Encoding.values()) {
+            for (BRKGADecoder.DecodingStrategy strategy : BRKGADecoder.DecodingStrategy.values()) {
+                BRKGADecoder decoder = new BRKGADecoder(testInstance, strategy, encoding);
+                BRKGADecoder other = new BRKGADecoder(testInstance, 
+                        BRKGADecoder.DecodingStrategy.FIRST_FIT, encoding);
+                for (int i = 0; i < 20; i++) {
+                    AllocationSolution original = other.decode(other.generateRandomKeys());
+                    AllocationSolution decoded = decoder.decode(decoder.encode(original));
+                    if (original.getAllocatedVMCount() == testInstance.getVMs().size()) {
+                        assertTrue(decoded.samePlacement(original), encoding + "/" + strategy);
+                    }
+                }
+            }
+        }
+        
+        MOBRKGA previous = new MOBRKGA(testInstance, new BRKGAParameters.Builder()
+                .populationSize(20).maxGenerations(10).archiveSize(10).randomSeed(1).build(),
+                BRKGADecoder.DecodingStrategy.BALANCED);
+        ParetoArchive front = previous.run();
+        
+        MOBRKGA warm = new MOBRKGA(testInstance, new BRKGAParameters.Builder()
+                .populationSize(20).maxGenerations(1).archiveSize(10).randomSeed(2).build(),
+                BRKGADecoder.DecodingStrategy.BALANCED);
+        warm.seed(front);
+        ParetoArchive warmFront = warm.run();
+        for (AllocationSolution solution : front.getSolutions()) {
+            assertTrue(warmFront.getSolutions().stream()
+                    .anyMatch(s -> s.getFingerprint() == solution.getFingerprint() 
+                                   || s.compareDominance(solution) < 0));
+        }
+    }
+    
+    @Test
+    void testCheckpointResume(@TempDir Path directory) throws Exception {
+        BRKGAParameters.Builder builder = new BRKGAParameters.Builder()
+                .populationSize(20).archiveSize(10).randomSeed(5);
+        MOBRKGA uninterrupted = new MOBRKGA(testInstance, builder.maxGenerations(20).build(),
+                                            BRKGADecoder.DecodingStrategy.BALANCED);
+        List<AllocationSolution> expected = uninterrupted.run().getSolutions();
+        
+        // Primeira metade com checkpoint; a retomada continua até a geração 20
+        Path file = directory.resolve("brkga.ckpt");
+        MOBRKGA firstHalf = new MOBRKGA(testInstance, builder.maxGenerations(10).build(),
+                                        BRKGADecoder.DecodingStrategy.BALANCED);
+        firstHalf.enableCheckpointing(file, 3);
+        firstHalf.run();
+        assertTrue(Files.exists(file));
+        
+        MOBRKGA resumed = MOBRKGA.resume(testInstance, builder.maxGenerations(20).build(),
+                                         BRKGADecoder.DecodingStrategy.BALANCED, file);
+        assertEquals(10, resumed.getCurrentGeneration());
+        List<AllocationSolution> actual = resumed.run().getSolutions();
+        
+        assertEquals(20, resumed.getCurrentGeneration());
+        assertEquals(uninterrupted.getEvaluations(), resumed.getEvaluations());
+        assertEquals(uninterrupted.getHyperVolumeHistory(), resumed.getHyperVolumeHistory());
+        assertEquals(uninterrupted.getHypervolume(), resumed.getHypervolume(), 1e-9);
+        assertEquals(expected.stream().mapToLong(AllocationSolution::getFingerprint).sorted().boxed().toList(),
+                     actual.stream().mapToLong(AllocationSolution::getFingerprint).sorted().boxed().toList());
+        
+        // Regime permanente com um worker: os geradores dos workers também são retomados
+        BRKGAParameters.Builder steady = new BRKGAParameters.Builder()
+                .populationSize(20).archiveSize(10).randomSeed(6).steadyState(true);
+        MOBRKGA steadyUninterrupted = new MOBRKGA(testInstance, steady.maxGenerations(20).build(),
+                                                  BRKGADecoder.DecodingStrategy.BALANCED);
+        List<AllocationSolution> steadyExpected = steadyUninterrupted.run().getSolutions();
+        Path steadyFile = directory.resolve("steady.ckpt");
+        MOBRKGA steadyFirstHalf = new MOBRKGA(testInstance, steady.maxGenerations(10).build(),
+                                              BRKGADecoder.DecodingStrategy.BALANCED);
+        steadyFirstHalf.enableCheckpointing(steadyFile, 5);
+        steadyFirstHalf.run();
+        MOBRKGA steadyResumed = MOBRKGA.resume(testInstance, steady.maxGenerations(20).build(),
+                                               BRKGADecoder.DecodingStrategy.BALANCED, steadyFile);
+        List<AllocationSolution> steadyActual = steadyResumed.run().getSolutions();
+        assertEquals(steadyUninterrupted.getHyperVolumeHistory(), steadyResumed.getHyperVolumeHistory());
+        assertEquals(steadyUninterrupted.getEvaluations(), steadyResumed.getEvaluations());
+        for (int i = 0; i < 20; i++) {
+            assertArrayEquals(steadyUninterrupted.getPopulation().get(i).getKeys(),
+                              steadyResumed.getPopulation().get(i).getKeys());
+        }
+        assertEquals(steadyExpected.stream().mapToLong(AllocationSolution::getFingerprint).sorted().boxed().toList(),
+                     steadyActual.stream().mapToLong(AllocationSolution::getFingerprint).sorted().boxed().toList());
+        
+        // Busca tabu concluída: a retomada restaura o arquivo sem novas iterações
+        TabuSearch.TabuParameters tabuParameters = new TabuSearch.TabuParameters.Builder()
+                .maxIterations(15).archiveSize(10).randomSeed(3).build();
+        Path tabuFile = directory.resolve("tabu.ckpt");
+        TabuSearch tabu = new TabuSearch(testInstance, tabuParameters);
+        tabu.enableCheckpointing(tabuFile, 4);
+        ParetoArchive initial = resumed.getArchive();
+        List<AllocationSolution> tabuFront = tabu.run(initial).getSolutions();
+        
+        TabuSearch resumedTabu = TabuSearch.resume(testInstance, tabuParameters, tabuFile);
+        List<AllocationSolution> resumedFront = resumedTabu.run(initial).getSolutions();
+        assertEquals(tabu.getIterations(), resumedTabu.getIterations());
+        assertEquals(tabuFront.stream().mapToLong(AllocationSolution::getFingerprint).sorted().boxed().toList(),
+                     resumedFront.stream().mapToLong(AllocationSolution::getFingerprint).sorted().boxed().toList());
+        
+        // A busca tabu paralela não tem posição única para gravar: a combinação é recusada
+        TabuSearch parallelTabu = new TabuSearch(testInstance, new TabuSearch.TabuParameters.Builder()
+                .maxIterations(15).archiveSize(10).randomSeed(3).parallelism(2).build());
+        assertThrows(IllegalArgumentException.class, () -> parallelTabu.enableCheckpointing(tabuFile, 4));
+        VMAllocationOptimizer parallelOptimizer = new VMAllocationOptimizer(testInstance,
+                new OptimizationParameters.Builder().tabuParallelism(2).build());
+        assertThrows(IllegalArgumentException.class, () -> parallelOptimizer.checkpointTo(directory, 4));
+    }
+    
+    @Test
+    void testStrategyEnsemble() {
+        OptimizationParameters parameters = new OptimizationParameters.Builder()
+                .brkgaPopulationSize(20)
+                .brkgaMaxGenerations(10)
+                .tabuMaxIterations(20)
+                .archiveSize(10)
+                .randomSeed(42)
+                .ensembleStrategies()
+                .build();
+        VMAllocationOptimizer optimizer = new VMAllocationOptimizer(testInstance, parameters);
+        VMAllocationOptimizer.OptimizationResult result = optimizer.optimize();
+        
+        assertEquals(BRKGADecoder.DecodingStrategy.values().length, optimizer.getEnsembleRuns().size());
+        Map<BRKGADecoder.DecodingStrategy, Integer> contributions = result.getReport().getEnsembleContributions();
+        assertNotNull(contributions);
+        
+        // Cada ponto da frente combinada vem de uma estratégia ou foi dominado depois pela busca tabu
+        int attributed = 0;
+        for (AllocationSolution solution : result.getAllSolutions()) {
+            BRKGADecoder.DecodingStrategy strategy = result.getContributingStrategy(solution);
+            if (strategy != null) {
+                attributed++;
+                assertTrue(optimizer.getEnsembleRuns().get(strategy).getArchive().containsFingerprint(
+                        solution.getFingerprint()));
+            }
+        }
+        assertTrue(attributed <= contributions.values().stream().mapToInt(Integer::intValue).sum());
+        
+        // O relatório do ensemble traz o histórico da melhor estratégia em cada geração
+        double bestHypervolume = optimizer.getEnsembleRuns().values().stream()
+                .mapToDouble(MOBRKGA::getHypervolume).max().orElseThrow();
+        assertEquals(bestHypervolume, result.getReport().getBrkgaFinalHypervolume(), 1e-9);
+        assertEquals(11, result.getReport().getBrkgaArchiveSizeHistory().size());
+        
+        // Nenhum ponto da frente final é dominado pelo arquivo de alguma estratégia
+        for (MOBRKGA run : optimizer.getEnsembleRuns().values()) {
+            for (AllocationSolution solution : run.getArchive().getSolutions()) {
+                assertTrue(result.getAllSolutions().stream()
+                        .noneMatch(s -> solution.compareDominance(s) < 0));
+            }
+        }
+    }
+    
+    @Test
+    void testSteadyStateEvolution() {
+        BRKGAParameters.Builder builder = new BRKGAParameters.Builder()
+                .populationSize(20).maxGenerations(15).archiveSize(10).randomSeed(9).steadyState(true);
+        
+        // Com um worker a execução é reprodutível
+        List<AllocationSolution> first = new MOBRKGA(testInstance, builder.build(),
+                BRKGADecoder.DecodingStrategy.BALANCED).run().getSolutions();
+        List<AllocationSolution> second = new MOBRKGA(testInstance, builder.build(),
+                BRKGADecoder.DecodingStrategy.BALANCED).run().getSolutions();
+        assertFalse(first.isEmpty());
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertTrue(first.get(i).samePlacement(second.get(i)));
+        }
+        
+        MOBRKGA parallel = new MOBRKGA(testInstance, builder.parallelism(4).build(),
+                                       BRKGADecoder.DecodingStrategy.BALANCED);
+        ParetoArchive archive = parallel.run();
+        assertEquals(15, parallel.getCurrentGeneration());
+        assertEquals(15 + 1, parallel.getHyperVolumeHistory().size());
+        assertEquals(20, parallel.getPopulation().size());
+        assertTrue(parallel.getEvaluations() >= 20 + 15 * (20 - 3));
+        assertFalse(archive.isEmpty());
+        for (Individual individual : parallel.getPopulation()) {
+            assertTrue(individual.isEvaluated());
+        }
+    }
+    
+    @Test
+    void testParallelMultiStartTabu() {
+        ParetoArchive starts = new MOBRKGA(testInstance, new BRKGAParameters.Builder()
+                .populationSize(20).maxGenerations(10).archiveSize(10).randomSeed(4).build(),
+                BRKGADecoder.DecodingStrategy.GREEDY_RELIABILITY).run();
+        
+        TabuSearch parallel = new TabuSearch(testInstance, new TabuSearch.TabuParameters.Builder()
+                .maxIterations(30).archiveSize(10).randomSeed(8).parallelism(4).build());
+        ParetoArchive archive = parallel.run(starts);
+        
+        // Todas as soluções iniciais são percorridas até o fim, em qualquer ordem
+        assertEquals(starts.size() * 30, parallel.getIterations());
+        assertFalse(archive.isEmpty());
+        for (AllocationSolution solution : archive.getSolutions()) {
+            assertTrue(archive.getSolutions().stream().noneMatch(other -> other.compareDominance(solution) < 0));
+        }
+        for (AllocationSolution start : starts.getSolutions()) {
+            assertTrue(archive.getSolutions().stream()
+                    .anyMatch(s -> s.getFingerprint() == start.getFingerprint() || s.compareDominance(start) < 0));
+        }
+    }
+    
+    @Test
+    void testRandomizedTabuTenure() {
+        ParetoArchive starts = new MOBRKGA(testInstance, new BRKGAParameters.Builder()
+                .populationSize(20).maxGenerations(10).archiveSize(10).randomSeed(5).build(),
+                BRKGADecoder.DecodingStrategy.BALANCED).run();
+        
+        TabuSearch.TabuParameters parameters = new TabuSearch.TabuParameters.Builder()
+                .maxIterations(40).tabuListSize(3).tenureRandomization(4).archiveSize(10).randomSeed(13).build();
+        List<AllocationSolution> first = new TabuSearch(testInstance, parameters).run(starts).getSolutions();
+        List<AllocationSolution> second = new TabuSearch(testInstance, parameters).run(starts).getSolutions();
+        
+        // A duração sorteada vem da semente: a busca continua reprodutível
+        assertFalse(first.isEmpty());
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertTrue(first.get(i).samePlacement(second.get(i)));
+        }
+        assertThrows(IllegalArgumentException.class, () ->
+                new TabuSearch.TabuParameters.Builder().tenureRandomization(-1).build());
+    }
+    
+    @Test
+    void testCandidateListNeighborhood() {
+        ParetoArchive starts = new MOBRKGA(testInstance, new BRKGAParameters.Builder()
+                .populationSize(20).maxGenerations(10).archiveSize(10).randomSeed(6).build(),
+                BRKGADecoder.DecodingStrategy.BALANCED).run();
+        
+        TabuSearch.TabuParameters parameters = new TabuSearch.TabuParameters.Builder()
+                .maxIterations(50).archiveSize(10).randomSeed(21)
+                .sampleSize(4).candidateHosts(2).dontLookBits(true).build();
+        TabuSearch search = new TabuSearch(testInstance, parameters);
+        List<AllocationSolution> first = search.run(starts).getSolutions();
+        List<AllocationSolution> second = new TabuSearch(testInstance, parameters).run(starts).getSolutions();
+        
+        // Cada vizinhança tem no máximo sampleSize * (candidateHosts + 1) movimentos,
+        // avaliada duas vezes quando os bits don't-look forçam uma nova varredura
+        assertEquals(starts.size() * 50, search.getIterations());
+        assertTrue(search.getEvaluations() <= (long) search.getIterations() * 4 * 3 * 2);
+        assertFalse(first.isEmpty());
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertTrue(first.get(i).samePlacement(second.get(i)));
+        }
+        assertThrows(IllegalArgumentException.class, () ->
+                new TabuSearch.TabuParameters.Builder().candidateHosts(-1).build());
+        
+        // Sem movimentos de melhora, os bits não forçam varreduras completas extras
+        TabuSearch.TabuParameters.Builder full = new TabuSearch.TabuParameters.Builder()
+                .maxIterations(50).archiveSize(10).randomSeed(21);
+        TabuSearch withoutBits = new TabuSearch(testInstance, full.build());
+        withoutBits.run(starts);
+        TabuSearch withBits = new TabuSearch(testInstance, full.dontLookBits(true).build());
+        withBits.run(starts);
+        assertTrue(withBits.getEvaluations() <= withoutBits.getEvaluations());
+        
+        // As opções chegam à busca tabu pelo otimizador
+        OptimizationParameters candidateLists = new OptimizationParameters.Builder()
+                .brkgaPopulationSize(20).brkgaMaxGenerations(5).tabuMaxIterations(10)
+                .archiveSize(10).randomSeed(2)
+                .tabuSampleSize(3).tabuCandidateHosts(2).tabuDontLookBits(true).build();
+        assertFalse(new VMAllocationOptimizer(testInstance, candidateLists).optimize().getArchive().isEmpty());
+        assertThrows(IllegalArgumentException.class, () ->
+                new OptimizationParameters.Builder().tabuCandidateHosts(-1).build());
+    }
+    
+    @Test
+    void testEjectionChainConsolidates() {
+        // Hosts de capacidade 10 com {4, 4}, {6} e {6}: esvaziar o host caro exige
+        // mover um 6 ejetando um 4, que por sua vez vai para o host com folga 4
+        ProblemInstance tight = packedInstance(4, 4, 6, 6);
+        ParetoArchive starts = placement(tight, 0, 0, 1, 2);
+        
+        TabuSearch.TabuParameters.Builder oneIteration = new TabuSearch.TabuParameters.Builder()
+                .maxIterations(1).archiveSize(10).randomSeed(1);
+        double plainBest = bestCost(new TabuSearch(tight, oneIteration.build()).run(starts));
+        ParetoArchive chained = new TabuSearch(tight, oneIteration.ejectionChainLength(2).build()).run(starts);
+        
+        assertEquals(70.0, plainBest, 1e-9);
+        assertEquals(20.0, bestCost(chained), 1e-9);
+        for (AllocationSolution solution : chained.getSolutions()) {
+            assertTrue(solution.isFeasible());
+        }
+    }
+    
+    @Test
+    void testSwapOpensRoomForConsolidation() {
+        // Hosts {5, 3} e {4, 4} com folga 2 e o host caro, de capacidade 3, com {3}:
+        // nenhuma realocação cabe; trocar o 5 por um 4 deixa folga 3 para esvaziar o caro
+        ProblemInstance tight = packedInstance(new double[] {10, 10, 3}, 5, 3, 4, 4, 3);
+        ParetoArchive starts = placement(tight, 0, 0, 1, 1, 2);
+        
+        TabuSearch.TabuParameters.Builder twoIterations = new TabuSearch.TabuParameters.Builder()
+                .maxIterations(2).archiveSize(10).randomSeed(1);
+        TabuSearch plain = new TabuSearch(tight, twoIterations.build());
+        double plainBest = bestCost(plain.run(starts));
+        ParetoArchive swapped = new TabuSearch(tight, twoIterations.swapMoves(true).build()).run(starts);
+        
+        assertEquals(70.0, plainBest, 1e-9);
+        assertEquals(0, plain.getEvaluations()); // nenhum movimento simples é viável
+        assertEquals(20.0, bestCost(swapped), 1e-9);
+        assertTrue(swapped.getSolutions().stream().allMatch(AllocationSolution::isFeasible));
+        
+        // As opções chegam à busca tabu pelo otimizador
+        OptimizationParameters parameters = new OptimizationParameters.Builder()
+                .brkgaPopulationSize(20).brkgaMaxGenerations(5).tabuMaxIterations(10)
+                .archiveSize(10).randomSeed(3)
+                .tabuSwapMoves(true).tabuEjectionChainLength(3).tabuEjectionCandidates(2).build();
+        assertFalse(new VMAllocationOptimizer(testInstance, parameters).optimize().getArchive().isEmpty());
+        assertThrows(IllegalArgumentException.class, () ->
+                new OptimizationParameters.Builder().tabuEjectionCandidates(0).build());
+    }
+    
+    @Test
+    void testHostEvacuation() {
+        // O host caro, o menos carregado, guarda {2, 2}; as duas VMs cabem nas folgas
+        // dos outros hosts, mas nenhum movimento simples o esvazia
+        ProblemInstance tight = packedInstance(6, 6, 2, 2);
+        ParetoArchive starts = placement(tight, 0, 1, 2, 2);
+        
+        TabuSearch.TabuParameters.Builder oneIteration = new TabuSearch.TabuParameters.Builder()
+                .maxIterations(1).archiveSize(10).randomSeed(1);
+        double plainBest = bestCost(new TabuSearch(tight, oneIteration.build()).run(starts));
+        ParetoArchive evacuated = new TabuSearch(tight, oneIteration.evacuationCandidates(1).build()).run(starts);
+        
+        // Um movimento simples desativa no máximo um host barato (removendo sua VM)
+        assertTrue(plainBest >= 60.0);
+        assertEquals(20.0, bestCost(evacuated), 1e-9);
+        assertTrue(evacuated.getSolutions().stream().allMatch(AllocationSolution::isFeasible));
+        assertThrows(IllegalArgumentException.class, () ->
+                new TabuSearch.TabuParameters.Builder().evacuationCandidates(-1).build());
+        
+        // A opção chega à busca tabu pelo otimizador
+        OptimizationParameters parameters = new OptimizationParameters.Builder()
+                .brkgaPopulationSize(20).brkgaMaxGenerations(5).tabuMaxIterations(10)
+                .archiveSize(10).randomSeed(1).tabuEvacuationCandidates(2).build();
+        VMAllocationOptimizer optimizer = new VMAllocationOptimizer(testInstance, parameters);
+        assertFalse(optimizer.optimize().getArchive().isEmpty());
+        assertThrows(IllegalArgumentException.class, () ->
+                new OptimizationParameters.Builder().tabuEvacuationCandidates(-1).build());
+    }
+    
+    /**
+     * Dois hosts baratos e um caro, de capacidade 10, e VMs com as demandas de CPU dadas
+     */
+    private static ProblemInstance packedInstance(double... demands) {
+        return packedInstance(new double[] {10, 10, 10}, demands);
+    }
+    
+    private static ProblemInstance packedInstance(double[] capacities, double... demands) {
+        ProblemInstance instance = new ProblemInstance("packed");
+        for (int h = 0; h < 3; h++) {
+            Host host = new Host(h, h == 2 ? 50.0 : 10.0, 0.1);
+            host.setCap(ResourceType.CPU, capacities[h]);
+            instance.addHost(host);
+        }
+        for (int v = 0; v < demands.length; v++) {
+            VM vm = new VM(v, 0.5);
+            vm.setDemand(ResourceType.CPU, demands[v]);
+            instance.addVM(vm);
+        }
+        return instance;
+    }
+    
+    private static ParetoArchive placement(ProblemInstance instance, int... hosts) {
+        AllocationSolution solution = new AllocationSolution(instance.getVMs(), instance.getHosts());
+        for (int v = 0; v < hosts.length; v++) {
+            solution.allocateVM(instance.getVM(v), instance.getHost(hosts[v]));
+        }
+        ParetoArchive archive = new ParetoArchive(10);
+        archive.add(solution);
+        return archive;
+    }
+    
+    private static double bestCost(ParetoArchive archive) {
+        return archive.getSolutions().stream().mapToDouble(AllocationSolution::getTotalCost).min().orElse(Double.NaN);
+    }
 }